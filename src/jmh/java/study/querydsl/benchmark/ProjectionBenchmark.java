@@ -0,0 +1,91 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Projections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.QMemberDto;
+
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 프로젝션 방식별 DTO 생성 비용 비교 (1M rows)
+ * DB 조회 결과(Object[])를 DTO로 변환하는 FactoryExpression.newInstance 구간만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectionBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int DISTINCT_ROWS = 1024;
+
+    private Object[][] rows;
+
+    private FactoryExpression<MemberDto> bean;
+    private FactoryExpression<MemberDto> fields;
+    private FactoryExpression<MemberDto> constructor;
+    private FactoryExpression<MemberDto> queryProjection;
+    private FactoryExpression<MemberDto> direct;
+
+    @Setup
+    public void setup() {
+        rows = new Object[DISTINCT_ROWS][];
+        for (int i = 0; i < DISTINCT_ROWS; i++) {
+            rows[i] = new Object[]{"member" + i, i % 100};
+        }
+
+        bean = Projections.bean(MemberDto.class, member.username, member.age);
+        fields = Projections.fields(MemberDto.class, member.username, member.age);
+        constructor = Projections.constructor(MemberDto.class, member.username, member.age);
+        queryProjection = new QMemberDto(member.username, member.age);
+        direct = MemberDto.projection(member.username, member.age);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void bean(Blackhole bh) {
+        map(bean, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void fields(Blackhole bh) {
+        map(fields, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void constructor(Blackhole bh) {
+        map(constructor, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void queryProjection(Blackhole bh) {
+        map(queryProjection, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void direct(Blackhole bh) {
+        map(direct, bh);
+    }
+
+    private void map(FactoryExpression<MemberDto> projection, Blackhole bh) {
+        for (int i = 0; i < ROWS; i++) {
+            bh.consume(projection.newInstance(rows[i & (DISTINCT_ROWS - 1)]));
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package study.querydsl.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.config.WebConfig;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberTeamDto 페이지 응답의 JSON / Smile 크기와 클라이언트 디코딩 시간 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+
+    @Param({"20", "1000"})
+    int pageSize;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = new SmileMapper(WebConfig.smileFactory());
+
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup
+    public void setup() throws IOException {
+        List<MemberTeamDto> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            long teamId = i % 10;
+            content.add(new MemberTeamDto((long) i, "member" + i, i % 100, teamId, "team" + teamId));
+        }
+        PageImpl<MemberTeamDto> page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000_000);
+
+        json = jsonMapper.writeValueAsBytes(page);
+        smile = smileMapper.writeValueAsBytes(page);
+
+        System.out.printf("%n[payload] pageSize=%d json=%d bytes, smile=%d bytes%n", pageSize, json.length, smile.length);
+    }
+
+    @Benchmark
+    public Object decodeJson() throws IOException {
+        return jsonMapper.readTree(json);
+    }
+
+    @Benchmark
+    public Object decodeSmile() throws IOException {
+        return smileMapper.readTree(smile);
+    }
+
+}
@@ -0,0 +1,118 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import study.querydsl.repository.support.UsernameIndex;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * username 조회: 메모리 인덱스(UsernameIndex) vs DB (H2 메모리 DB, username 인덱스)
+ * 없는 username(가입 가능 여부 확인)과 있는 username 각각 측정, 인덱스 메모리 사용량은 setup에서 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UsernameLookupBenchmark {
+
+    private static final int LOOKUP_NAMES = 1024;
+
+    @Param({"100000"})
+    private int members;
+
+    private Connection connection;
+    private PreparedStatement select;
+    private UsernameIndex index;
+
+    private String[] existing;
+    private String[] missing;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:username_lookup;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table member (member_id bigint primary key, username varchar(255))");
+            statement.execute("create index idx_member_username on member (username)");
+        }
+
+        index = new UsernameIndex(members);
+        try (PreparedStatement insert = connection.prepareStatement("insert into member values (?, ?)")) {
+            for (int i = 1; i <= members; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "member" + i);
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+                index.add("member" + i, i);
+            }
+            insert.executeBatch();
+        }
+
+        existing = new String[LOOKUP_NAMES];
+        missing = new String[LOOKUP_NAMES];
+        for (int i = 0; i < LOOKUP_NAMES; i++) {
+            existing[i] = "member" + (1 + (i * 97) % members);
+            missing[i] = "newbie" + i;
+        }
+
+        select = connection.prepareStatement("select member_id from member where username = ?");
+        System.out.println("[benchmark] username index: " + index.getStats()
+                + ", bytesPerEntry=" + index.getStats().getBytesPerEntry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long indexMissing() {
+        return index.lookup(next(missing));
+    }
+
+    @Benchmark
+    public long databaseMissing() throws SQLException {
+        return query(next(missing));
+    }
+
+    @Benchmark
+    public long indexExisting() {
+        return index.lookup(next(existing));
+    }
+
+    @Benchmark
+    public long databaseExisting() throws SQLException {
+        return query(next(existing));
+    }
+
+    private long query(String username) throws SQLException {
+        select.setString(1, username);
+        try (ResultSet rs = select.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : UsernameIndex.ABSENT;
+        }
+    }
+
+    private String next(String[] names) {
+        return names[cursor++ & (LOOKUP_NAMES - 1)];
+    }
+
+}
@@ -1,11 +1,17 @@
 package study.querydsl;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 
 import javax.persistence.EntityManager;
+import javax.sql.DataSource;
 
 @SpringBootApplication
 public class QuerydslApplication {
@@ -19,4 +25,12 @@ public class QuerydslApplication {
 		return new JPAQueryFactory(em);
 	}
 
+	// JPQL 변환, 엔티티 매핑 없이 JDBC로 바로 조회하는 읽기 전용 경로 (트랜잭션 안에서만 사용 가능)
+	@Bean
+	public SQLQueryFactory sqlQueryFactory(DataSource dataSource) {
+		Configuration configuration = new Configuration(H2Templates.builder().build());
+		configuration.setExceptionTranslator(new SpringExceptionTranslator());
+		return new SQLQueryFactory(configuration, new SpringConnectionProvider(dataSource));
+	}
+
 }
@@ -3,35 +3,134 @@ package study.querydsl.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.querydsl.dto.AgeHistogramDto;
+import study.querydsl.dto.MemberImportResult;
 import study.querydsl.dto.MemberSearchCond;
 import study.querydsl.dto.MemberTeamDto;
-import study.querydsl.repository.MemberJpaRepository;
-import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberField;
+import study.querydsl.repository.MemberTeamReadModel;
+import study.querydsl.repository.support.SingleFlight;
+import study.querydsl.service.MemberExportService;
+import study.querydsl.service.MemberImportService;
+import study.querydsl.service.MemberLookupService;
+import study.querydsl.service.MemberSearchResultCache;
+import study.querydsl.service.MemberSearchService;
+import study.querydsl.service.MemberStatisticsService;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
-    private final MemberJpaRepository memberJpaRepository; // 순수 JPA 레포지토리
-    private final MemberRepository memberRepository; // Spring Data JPA 레포지토리
+    private final MemberImportService memberImportService;
+    private final MemberExportService memberExportService;
+    private final MemberSearchService memberSearchService; // member.search.engine에 따라 JPA / querydsl-sql
+    private final MemberStatisticsService memberStatisticsService;
+    private final MemberSearchResultCache memberSearchResultCache;
+    private final MemberResponseCache memberResponseCache;
+    private final MemberLookupService memberLookupService;
+    private final MemberTeamReadModel memberTeamReadModel;
 
+    // v1, v2: ETag + 조건부 GET (데이터가 그대로면 304), 직렬화된 JSON 응답 재사용
+    // fields=memberId,username 처럼 필요한 필드만 선택 가능 (선택한 컬럼만 조회, 필요 없으면 team 조인 생략)
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCond cond) {
-        return memberJpaRepository.searchByWhere(cond);
+    public ResponseEntity<?> searchMemberV1(MemberSearchCond cond,
+                                            @RequestParam(required = false) List<String> fields,
+                                            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        Set<MemberField> selected = MemberField.parse(fields);
+        return memberResponseCache.respond(request, "v1" + selected, cond, null,
+                () -> selected.isEmpty()
+                        ? memberSearchService.searchByWhere(cond)
+                        : memberSearchService.searchFields(cond, selected));
     }
 
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCond cond, Pageable pageable) {
-        return memberRepository.searchPageSimple(cond, pageable);
+    public ResponseEntity<?> searchMemberV2(MemberSearchCond cond, Pageable pageable,
+                                            @RequestParam(required = false) List<String> fields,
+                                            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        Set<MemberField> selected = MemberField.parse(fields);
+        return memberResponseCache.respond(request, "v2" + selected, cond, pageable,
+                () -> selected.isEmpty()
+                        ? memberSearchService.searchPageSimple(cond, pageable)
+                        : memberSearchService.searchPageFields(cond, selected, pageable));
     }
 
     @GetMapping("/v3/members")
-    public Page<MemberTeamDto> searchMemberV3(MemberSearchCond cond, Pageable pageable) {
-        return memberRepository.searchPageComplex(cond, pageable);
+    public Page<?> searchMemberV3(MemberSearchCond cond, Pageable pageable,
+                                  @RequestParam(required = false) List<String> fields) {
+        Set<MemberField> selected = MemberField.parse(fields);
+        return selected.isEmpty()
+                ? memberSearchService.searchPageComplex(cond, pageable)
+                : memberSearchService.searchPageFields(cond, selected, pageable);
+    }
+
+    // 단건 조회 - 동시에 들어온 요청은 모아서 한 번에 조회 (MemberLookupService)
+    @GetMapping("/v1/members/{memberId:\\d+}")
+    public CompletableFuture<ResponseEntity<MemberTeamDto>> findMember(@PathVariable Long memberId) {
+        return memberLookupService.findById(memberId)
+                .thenApply(member -> ResponseEntity.of(Optional.ofNullable(member))); // 없으면 404
+    }
+
+    // 동일 조건 검색 합치기(single-flight) 현황
+    @GetMapping("/v1/members/search-stats")
+    public SingleFlight.Stats searchStats() {
+        return memberSearchService.getCoalesceStats();
+    }
+
+    // 검색 결과 캐시 현황 (hit ratio, 메모리)
+    @GetMapping("/v1/members/search-cache-stats")
+    public MemberSearchResultCache.Stats searchCacheStats() {
+        return memberSearchResultCache.getStats();
+    }
+
+    // 팀별 나이 구간 분포 (대시보드용)
+    @GetMapping("/v1/members/age-histogram")
+    public List<AgeHistogramDto> ageHistogram(MemberSearchCond cond) {
+        return memberStatisticsService.ageHistogram(cond);
+    }
+
+    // 전체(조건 없음) 분포 다시 계산 - member_id 구간별 병렬 집계
+    @PostMapping("/v1/members/age-histogram/rebuild")
+    public List<AgeHistogramDto> rebuildAgeHistogram() {
+        return memberStatisticsService.rebuildAgeHistogram();
+    }
+
+    // 비정규화 읽기 모델(member_team_view) 전체 재구성 / member + team 조인 결과와 비교
+    @PostMapping("/v1/members/read-model/rebuild")
+    public Map<String, Long> rebuildReadModel() {
+        return Map.of("rows", memberTeamReadModel.rebuild());
+    }
+
+    @GetMapping("/v1/members/read-model/check")
+    public MemberTeamReadModel.ConsistencyReport checkReadModel() {
+        return memberTeamReadModel.check();
+    }
+
+    // CSV(username,age,teamName) 스트리밍 등록
+    @PostMapping(value = "/v1/members/import", consumes = "text/csv")
+    public MemberImportResult importMembers(InputStream csv) {
+        return memberImportService.importCsv(csv);
+    }
+
+    // CSV(username,age,teamName) 스트리밍 내보내기 - member_id 구간별 병렬 조회, ordered=false면 먼저 끝난 구간부터
+    @GetMapping(value = "/v1/members/export", produces = "text/csv")
+    public StreamingResponseBody exportMembers(@RequestParam(defaultValue = "true") boolean ordered) {
+        return out -> memberExportService.exportCsv(out, ordered);
     }
 
 }
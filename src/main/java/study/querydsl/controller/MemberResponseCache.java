@@ -0,0 +1,150 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.service.MemberDataVersion;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 회원 검색 JSON 응답의 ETag / 조건부 GET 처리
+ * - ETag = 요청(엔드포인트, 정규화된 조건, 페이지)의 SHA-256 + 데이터 버전(MemberDataVersion), 버전은 DB 조회 없이 계산
+ * - JSON을 받을 수 있는 요청만 대상, If-None-Match가 같으면 304 (DB 조회, 직렬화 없음)
+ * - 요청별 최신 버전의 직렬화된 응답(byte[])을 보관해서 버전이 같으면 그대로 응답
+ * member.response-cache.max-entries (기본 500) 개, LRU로 제거
+ */
+@Component
+public class MemberResponseCache {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final ObjectMapper objectMapper;
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final MemberDataVersion dataVersion;
+    private final int maxEntries;
+
+    private final Map<List<Object>, CachedResponse> responses; // synchronized(this)
+
+    public MemberResponseCache(ObjectMapper objectMapper,
+                               ContentNegotiationManager contentNegotiationManager,
+                               MemberDataVersion dataVersion,
+                               @Value("${member.response-cache.max-entries:500}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.dataVersion = dataVersion;
+        this.maxEntries = maxEntries;
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, CachedResponse> eldest) {
+                return size() > MemberResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * JSON이 아닌 응답(Smile)이나 JSON을 받을 수 없는 요청(Accept: text/html 등)은 기존처럼 메시지 컨버터로 처리 (406 포함)
+     * @return 304면 null (응답은 WebRequest.checkNotModified에서 이미 설정됨)
+     */
+    public ResponseEntity<?> respond(NativeWebRequest request, String endpoint,
+                                     MemberSearchCond cond, Pageable pageable, Supplier<Object> search)
+            throws HttpMediaTypeNotAcceptableException {
+        if (!prefersJson(request)) {
+            return ResponseEntity.ok(search.get());
+        }
+
+        MemberSearchCond normalized = cond.normalized();
+        List<Object> key = Arrays.asList(endpoint, normalized, pageable);
+        String eTag = "\"" + digest(endpoint, normalized, pageable) + "-" + dataVersion.version(normalized) + "\"";
+
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        CachedResponse cached;
+        synchronized (this) {
+            cached = responses.get(key);
+        }
+        byte[] body;
+        if (cached != null && cached.eTag.equals(eTag)) {
+            body = cached.body;
+        } else {
+            body = serialize(search.get());
+            synchronized (this) {
+                responses.put(key, new CachedResponse(eTag, body));
+            }
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private boolean prefersJson(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType mediaType : contentNegotiationManager.resolveMediaTypes(request)) {
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (mediaType.includes(SMILE)) {
+                return false;
+            }
+        }
+        return false; // Accept 헤더가 없으면 */* 로 해석되어 위에서 true
+    }
+
+    // 요청 key 전체를 JSON으로 직렬화해서 SHA-256 (hashCode는 충돌하면 다른 요청과 ETag가 같아짐)
+    private String digest(String endpoint, MemberSearchCond normalized, Pageable pageable) {
+        List<Object> page = new ArrayList<>();
+        if (pageable.isPaged()) {
+            page.add(pageable.getPageNumber());
+            page.add(pageable.getPageSize());
+            for (Sort.Order order : pageable.getSort()) {
+                page.add(Arrays.asList(order.getProperty(), order.getDirection(), order.isIgnoreCase(), order.getNullHandling()));
+            }
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(objectMapper.writeValueAsBytes(Arrays.asList(endpoint, normalized, page)));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("ETag 계산 실패", e);
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+    }
+
+    private static class CachedResponse {
+        private final String eTag;
+        private final byte[] body;
+
+        private CachedResponse(String eTag, byte[] body) {
+            this.eTag = eTag;
+            this.body = body;
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.TeamMembersDto;
+import study.querydsl.dto.TeamSearchCond;
+import study.querydsl.repository.TeamRepository;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamRepository teamRepository;
+
+    @GetMapping("/v1/teams")
+    public Page<TeamMembersDto> searchTeamV1(TeamSearchCond cond, Pageable pageable,
+                                             @RequestParam(defaultValue = "100") int memberLimit) {
+        return teamRepository.searchTeamWithMembers(cond, pageable, memberLimit);
+    }
+
+}
@@ -0,0 +1,20 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Data
+public class AgeHistogramDto {
+
+    private Long teamId; // 팀이 없는 회원은 null
+    private String teamName;
+    private SortedMap<Integer, Long> buckets = new TreeMap<>(); // 구간 시작 나이 -> 회원 수
+
+    public AgeHistogramDto(Long teamId, String teamName) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+    }
+
+}
@@ -0,0 +1,104 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 리플렉션 없이 DTO를 생성하는 프로젝션
+ * - Projections.bean / fields: 로우마다 리플렉션으로 setter 호출, 필드 쓰기
+ * - Projections.constructor / @QueryProjection: 캐싱된 Constructor의 newInstance (리플렉션)
+ * - DirectProjection: 컴파일 시점에 작성된 생성자 호출 (new MemberDto(...)) 을 그대로 실행
+ *
+ * DTO의 static projection(...) 메서드에서 of(DTO::new, 표현식...)로 생성
+ * - 생성자 인자와 표현식의 타입, 개수는 컴파일 시점에 체크 (위치별 캐스팅을 직접 작성하지 않음)
+ * - 조회된 값은 개수와 표현식 타입(Expression.getType)을 확인한 뒤 생성자에 전달 -> DB가 다른 타입을 돌려주면 위치와 타입을 담아 실패
+ */
+public class DirectProjection<T> extends FactoryExpressionBase<T> {
+
+    @FunctionalInterface
+    public interface Mapper2<A, B, T> {
+        T map(A a, B b);
+    }
+
+    @FunctionalInterface
+    public interface Mapper5<A, B, C, D, E, T> {
+        T map(A a, B b, C c, D d, E e);
+    }
+
+    @FunctionalInterface
+    public interface Mapper6<A, B, C, D, E, F, T> {
+        T map(A a, B b, C c, D d, E e, F f);
+    }
+
+    private interface RowMapper<T> {
+        T map(Object[] row);
+    }
+
+    private final List<Expression<?>> args;
+    private final RowMapper<T> mapper;
+
+    private DirectProjection(Class<? extends T> type, RowMapper<T> mapper, Expression<?>... args) {
+        super(type);
+        this.mapper = mapper;
+        this.args = Collections.unmodifiableList(Arrays.asList(args));
+    }
+
+    public static <T, A, B> DirectProjection<T> of(Class<? extends T> type, Mapper2<A, B, T> mapper,
+                                                   Expression<A> a, Expression<B> b) {
+        return new DirectProjection<>(type, row -> mapper.map(arg(row, 0), arg(row, 1)), a, b);
+    }
+
+    public static <T, A, B, C, D, E> DirectProjection<T> of(Class<? extends T> type, Mapper5<A, B, C, D, E, T> mapper,
+                                                            Expression<A> a, Expression<B> b, Expression<C> c,
+                                                            Expression<D> d, Expression<E> e) {
+        return new DirectProjection<>(type,
+                row -> mapper.map(arg(row, 0), arg(row, 1), arg(row, 2), arg(row, 3), arg(row, 4)),
+                a, b, c, d, e);
+    }
+
+    public static <T, A, B, C, D, E, F> DirectProjection<T> of(Class<? extends T> type, Mapper6<A, B, C, D, E, F, T> mapper,
+                                                               Expression<A> a, Expression<B> b, Expression<C> c,
+                                                               Expression<D> d, Expression<E> e, Expression<F> f) {
+        return new DirectProjection<>(type,
+                row -> mapper.map(arg(row, 0), arg(row, 1), arg(row, 2), arg(row, 3), arg(row, 4), arg(row, 5)),
+                a, b, c, d, e, f);
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    public T newInstance(Object... values) {
+        if (values.length != args.size()) {
+            throw new IllegalArgumentException(getType().getSimpleName() + " 프로젝션 값 개수가 다릅니다: expected="
+                    + args.size() + ", actual=" + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            Class<?> expected = args.get(i).getType();
+            if (values[i] != null && !expected.isInstance(values[i])) {
+                throw new IllegalArgumentException(getType().getSimpleName() + " 프로젝션 " + i + "번째 값의 타입이 다릅니다: expected="
+                        + expected.getName() + ", actual=" + values[i].getClass().getName());
+            }
+        }
+        return mapper.map(values);
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+
+    // newInstance에서 표현식 타입을 확인했으므로 안전
+    @SuppressWarnings("unchecked")
+    private static <A> A arg(Object[] row, int index) {
+        return (A) row[index];
+    }
+
+}
@@ -1,6 +1,7 @@
 package study.querydsl.dto;
 
 import com.querydsl.core.annotations.QueryProjection;
+import com.querydsl.core.types.Expression;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -17,4 +18,8 @@ public class MemberDto {
         this.age = age;
     }
 
+    public static DirectProjection<MemberDto> projection(Expression<String> username, Expression<Integer> age) {
+        return DirectProjection.of(MemberDto.class, MemberDto::new, username, age);
+    }
+
 }
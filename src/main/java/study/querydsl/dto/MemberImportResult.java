@@ -0,0 +1,28 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MemberImportResult {
+
+    private long totalRows;
+    private long insertedRows;
+    private long failedRows;
+    private long elapsedMillis;
+    private List<ChunkError> errors; // 최대 MemberImportService.MAX_REPORTED_ERRORS 개
+
+    @Data
+    @AllArgsConstructor
+    public static class ChunkError {
+
+        private int chunk;
+        private long line; // 0이면 청크 전체 실패
+        private String message;
+
+    }
+
+}
@@ -0,0 +1,34 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.types.Expression;
+import lombok.Data;
+
+@Data
+public class MemberRankDto {
+
+    private Long memberId;
+    private String username;
+    private int age;
+    private Long teamId;
+    private String teamName;
+    private long rank; // 팀 내 나이 순위 (1부터, 동률이면 id 순)
+
+    public MemberRankDto(Long memberId, String username, int age, Long teamId, String teamName, long rank) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.rank = rank;
+    }
+
+    public static DirectProjection<MemberRankDto> projection(Expression<Long> memberId,
+                                                             Expression<String> username,
+                                                             Expression<Integer> age,
+                                                             Expression<Long> teamId,
+                                                             Expression<String> teamName,
+                                                             Expression<Long> rank) {
+        return DirectProjection.of(MemberRankDto.class, MemberRankDto::new, memberId, username, age, teamId, teamName, rank);
+    }
+
+}
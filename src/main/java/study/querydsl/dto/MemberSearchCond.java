@@ -1,7 +1,22 @@
 package study.querydsl.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 단일 조건(username, teamName, ageGoe/ageLoe)과 목록 조건(usernames, teamNames, ageRanges)은 모두 AND
+ * 목록 조건은 목록 안에서 OR - ?teamNames=teamA,teamB&ageRanges=10-19,30-39
+ */
 @Data
 public class MemberSearchCond {
 
@@ -10,4 +25,127 @@ public class MemberSearchCond {
     private Integer ageGoe;
     private Integer ageLoe;
 
+    private List<String> usernames;
+    private List<String> teamNames;
+    private List<AgeRange> ageRanges;
+
+    // 캐시, 동시 요청 합치기 key 용 복사본 - 빈 문자열은 조건 없음과 같음 (hasText)
+    // 목록 조건은 중복 제거 + 정렬, 나이 구간은 겹치거나 이어진 구간을 합침
+    public MemberSearchCond normalized() {
+        MemberSearchCond copy = new MemberSearchCond();
+        copy.setUsername(hasText(username) ? username : null);
+        copy.setTeamName(hasText(teamName) ? teamName : null);
+        copy.setAgeGoe(ageGoe);
+        copy.setAgeLoe(ageLoe);
+        copy.setUsernames(texts(usernames));
+        copy.setTeamNames(texts(teamNames));
+        copy.setAgeRanges(AgeRange.merge(ageRanges));
+        return copy;
+    }
+
+    // count 쿼리 등에서 team 조인이 필요한지
+    public boolean hasTeamCondition() {
+        return hasText(teamName) || texts(teamNames) != null;
+    }
+
+    /**
+     * 빈 문자열을 뺀 값 (중복 제거, 정렬), 남는 값이 없으면 null (조건 없음)
+     */
+    public static List<String> texts(Collection<String> values) {
+        if (values == null) {
+            return null;
+        }
+        TreeSet<String> texts = new TreeSet<>();
+        for (String value : values) {
+            if (hasText(value)) {
+                texts.add(value);
+            }
+        }
+        return texts.isEmpty() ? null : Collections.unmodifiableList(new ArrayList<>(texts));
+    }
+
+    /**
+     * 나이 구간 goe ~ loe (양 끝 포함), 한쪽이 null이면 열린 구간
+     * 요청 파라미터는 "10-19", "60-", "-9", "30" (한 살) 형식 (valueOf)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AgeRange {
+
+        private Integer goe;
+        private Integer loe;
+
+        public static AgeRange valueOf(String text) {
+            String value = text.trim();
+            int dash = value.indexOf('-');
+            try {
+                if (dash < 0) {
+                    int age = Integer.parseInt(value);
+                    return new AgeRange(age, age);
+                }
+                String goe = value.substring(0, dash).trim();
+                String loe = value.substring(dash + 1).trim();
+                return new AgeRange(goe.isEmpty() ? null : Integer.valueOf(goe),
+                        loe.isEmpty() ? null : Integer.valueOf(loe));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 나이 구간: " + text, e);
+            }
+        }
+
+        public boolean isEmpty() {
+            return goe != null && loe != null && goe > loe;
+        }
+
+        /**
+         * 정렬 후 겹치거나 이어진 구간을 합침 (정수 나이이므로 10-19, 20-29 -> 10-29)
+         * @return 조건 없음(목록 없음, 전체 구간)이면 null, 빈 구간만 있으면 빈 구간 하나 (결과 없음)
+         */
+        public static List<AgeRange> merge(Collection<AgeRange> ranges) {
+            if (ranges == null) {
+                return null;
+            }
+
+            List<AgeRange> sorted = new ArrayList<>();
+            boolean hasEmpty = false;
+            for (AgeRange range : ranges) {
+                if (range == null) {
+                    continue;
+                }
+                if (range.goe == null && range.loe == null) {
+                    return null; // 전체 구간 -> 다른 구간은 의미 없음
+                }
+                if (range.isEmpty()) {
+                    hasEmpty = true;
+                    continue;
+                }
+                sorted.add(new AgeRange(range.goe, range.loe));
+            }
+            if (sorted.isEmpty()) {
+                return hasEmpty ? Collections.singletonList(new AgeRange(1, 0)) : null;
+            }
+            sorted.sort(Comparator.comparing(AgeRange::getGoe, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+            List<AgeRange> merged = new ArrayList<>();
+            AgeRange current = sorted.get(0);
+            for (AgeRange next : sorted.subList(1, sorted.size())) {
+                if (current.loe == null) {
+                    break; // 이후 구간은 모두 포함됨
+                }
+                if (next.goe == null || next.goe <= (long) current.loe + 1) {
+                    current.loe = next.loe == null ? null : Math.max(current.loe, next.loe);
+                } else {
+                    merged.add(current);
+                    current = next;
+                }
+            }
+            merged.add(current);
+
+            if (merged.size() == 1 && current.goe == null && current.loe == null) {
+                return null;
+            }
+            return Collections.unmodifiableList(merged);
+        }
+    }
+
 }
@@ -1,6 +1,7 @@
 package study.querydsl.dto;
 
 import com.querydsl.core.annotations.QueryProjection;
+import com.querydsl.core.types.Expression;
 import lombok.Data;
 
 @Data
@@ -21,4 +22,12 @@ public class MemberTeamDto {
         this.teamName = teamName;
     }
 
+    public static DirectProjection<MemberTeamDto> projection(Expression<Long> memberId,
+                                                             Expression<String> username,
+                                                             Expression<Integer> age,
+                                                             Expression<Long> teamId,
+                                                             Expression<String> teamName) {
+        return DirectProjection.of(MemberTeamDto.class, MemberTeamDto::new, memberId, username, age, teamId, teamName);
+    }
+
 }
@@ -0,0 +1,13 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MemberUpsertResult {
+
+    private long inserted;
+    private long updated;
+
+}
@@ -0,0 +1,10 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamSearchCond {
+
+    private String teamName;
+
+}
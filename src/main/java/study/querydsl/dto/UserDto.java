@@ -1,5 +1,6 @@
 package study.querydsl.dto;
 
+import com.querydsl.core.types.Expression;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,4 +13,8 @@ public class UserDto {
     private String name;
     private int age;
 
+    public static DirectProjection<UserDto> projection(Expression<String> name, Expression<Integer> age) {
+        return DirectProjection.of(UserDto.class, UserDto::new, name, age);
+    }
+
 }
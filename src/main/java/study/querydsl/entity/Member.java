@@ -1,10 +1,18 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
+import java.util.Locale;
 
 @Entity
+@DynamicUpdate // 변경된 컬럼만 update -> write-behind 버퍼(MemberWriteBehindBuffer)가 반영한 age, team_id를 다른 수정이 덮어쓰지 않게
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_age", columnList = "age"),
+        @Index(name = "idx_member_username_lower", columnList = "username_lower")
+})
 @Getter @Setter
 @ToString(of = {"id", "username", "age"})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -16,6 +24,11 @@ public class Member {
     private String username;
     private int age;
 
+    // 대소문자 구분 없는 조회용 (lower(username)은 인덱스를 탈 수 없음), username 저장/수정 시 자동으로 맞춰짐
+    @Setter(AccessLevel.NONE)
+    @Column(name = "username_lower")
+    private String usernameLower;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -39,7 +52,17 @@ public class Member {
 
     public void changeTeam(Team team) {
         this.team = team;
-        team.getMembers().add(this);
+        team.addMember(this);
+    }
+
+    public static String normalizeUsername(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void syncUsernameLower() {
+        this.usernameLower = normalizeUsername(username);
     }
 
 }
@@ -0,0 +1,38 @@
+package study.querydsl.entity;
+
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+
+/**
+ * 회원 + 팀 이름 비정규화 읽기 모델 - 검색에서 team 조인 제거용 (member.read-model.enabled=true 일 때 사용)
+ * MemberTeamReadModel이 member/team 변경과 같은 트랜잭션에서 갱신, 엔티티로는 읽기만 함
+ * 인덱스는 MemberSearchCond 조건 형태별로 조회 컬럼을 모두 포함 (커버링 인덱스 -> 테이블 접근 없음)
+ */
+@Entity
+@Immutable
+@Table(name = "member_team_view", indexes = {
+        @Index(name = "idx_mtv_team_name", columnList = "team_name, age, username, member_id, team_id"),
+        @Index(name = "idx_mtv_username", columnList = "username, age, team_name, member_id, team_id"),
+        @Index(name = "idx_mtv_age", columnList = "age, username, team_name, member_id, team_id"),
+        @Index(name = "idx_mtv_team_id", columnList = "team_id") // 팀 이름 변경 반영용
+})
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MemberTeamView {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+    private String username;
+    private int age;
+
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Column(name = "team_name")
+    private String teamName;
+
+}
@@ -1,6 +1,8 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -17,6 +19,7 @@ public class Team {
     private Long id;
     private String name;
 
+    @LazyCollection(LazyCollectionOption.EXTRA) // size(), contains()는 컬렉션 로딩 대신 count 쿼리
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
@@ -24,4 +27,13 @@ public class Team {
         this.name = name;
     }
 
+    /**
+     * members는 연관 관계 주인이 아니므로(mappedBy) 초기화되지 않은 bag에 add 하면
+     * Hibernate가 컬렉션을 로딩하지 않고 추가 작업을 큐에 쌓아뒀다가, 초기화될 때 반영
+     * -> 회원이 많은 팀에 회원을 추가해도 members 전체를 조회하지 않음 (Set으로 바꾸면 add 시 초기화되므로 주의)
+     */
+    public void addMember(Member member) {
+        members.add(member);
+    }
+
 }
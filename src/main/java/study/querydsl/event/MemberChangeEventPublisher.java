@@ -0,0 +1,117 @@
+package study.querydsl.event;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 엔티티로 수정된 회원(persist, 변경 감지, remove)을 MemberChangedEvent로 발행
+ * Hibernate 이벤트는 이전 상태(oldState)를 알 수 있으므로 팀 이동 시 이전 팀도 포함
+ * 팀 생성/수정/삭제는 teamName 조건과 팀 id의 대응이 바뀔 수 있으므로 전체(global) 변경으로 발행 (드묾)
+ * 벌크 연산, JDBC로 직접 수정하는 경로는 각 레포지토리에서 직접 발행
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberChangeEventPublisher implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory emf;
+    private final ApplicationEventPublisher publisher;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            publish(event.getPersister(), event.getState(), null);
+        } else if (event.getEntity() instanceof Team) {
+            publisher.publishEvent(MemberChangedEvent.global());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member) {
+            publish(event.getPersister(), event.getState(), event.getOldState());
+        } else if (event.getEntity() instanceof Team) {
+            publisher.publishEvent(MemberChangedEvent.global());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            publish(event.getPersister(), event.getDeletedState(), null);
+        } else if (event.getEntity() instanceof Team) {
+            publisher.publishEvent(MemberChangedEvent.global());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void publish(EntityPersister persister, Object[] state, Object[] oldState) {
+        if (state == null) {
+            publisher.publishEvent(MemberChangedEvent.global());
+            return;
+        }
+
+        List<String> propertyNames = Arrays.asList(persister.getPropertyNames());
+        int teamIndex = propertyNames.indexOf("team");
+        int ageIndex = propertyNames.indexOf("age");
+
+        List<Long> teamIds = new ArrayList<>();
+        teamIds.add(teamId(state[teamIndex]));
+        int minAge = (Integer) state[ageIndex];
+        int maxAge = minAge;
+
+        if (oldState != null) {
+            teamIds.add(teamId(oldState[teamIndex]));
+            int oldAge = (Integer) oldState[ageIndex];
+            minAge = Math.min(minAge, oldAge);
+            maxAge = Math.max(maxAge, oldAge);
+        }
+
+        publisher.publishEvent(MemberChangedEvent.of(teamIds, minAge, maxAge));
+    }
+
+    private Long teamId(Object team) {
+        if (team == null) {
+            return null;
+        }
+        if (team instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) team).getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Team) team).getId();
+    }
+
+}
@@ -0,0 +1,54 @@
+package study.querydsl.event;
+
+import lombok.Getter;
+import org.springframework.core.Ordered;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 회원 데이터 변경 이벤트 - 캐시 무효화용
+ * teamIds: 변경 전/후 소속 팀 (팀이 없는 회원은 null 포함)
+ * minAge ~ maxAge: 변경 전/후 나이 범위
+ * global: 영향 범위를 알 수 없는 변경 (대량 등록 등) -> 전체 무효화
+ */
+@Getter
+public class MemberChangedEvent {
+
+    // 리스너 순서 - 캐시 무효화가 데이터 버전(ETag) 증가보다 먼저
+    // (버전이 먼저 바뀌면 그 사이 요청이 아직 남아 있는 이전 결과를 새 ETag로 응답/보관할 수 있음)
+    public static final int INVALIDATE_ORDER = 0;
+    public static final int VERSION_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private final boolean global;
+    private final Set<Long> teamIds;
+    private final int minAge;
+    private final int maxAge;
+
+    private MemberChangedEvent(boolean global, Set<Long> teamIds, int minAge, int maxAge) {
+        this.global = global;
+        this.teamIds = teamIds;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+
+    public static MemberChangedEvent global() {
+        return new MemberChangedEvent(true, Collections.emptySet(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static MemberChangedEvent of(Collection<Long> teamIds, int minAge, int maxAge) {
+        return new MemberChangedEvent(false, Collections.unmodifiableSet(new HashSet<>(teamIds)), minAge, maxAge);
+    }
+
+    public boolean affectsTeam(Long teamId) {
+        return global || teamIds.contains(teamId);
+    }
+
+    public boolean affectsAges(Integer ageGoe, Integer ageLoe) {
+        return global
+                || ((ageGoe == null || maxAge >= ageGoe) && (ageLoe == null || minAge <= ageLoe));
+    }
+
+}
@@ -0,0 +1,84 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Expression;
+import lombok.Getter;
+import study.querydsl.repository.support.UnsupportedFieldException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 검색 응답에서 선택할 수 있는 필드 (fields=memberId,username) - 선택한 컬럼만 select
+ * teamId는 member.team_id 컬럼이므로 조인 없이 조회, teamName만 team 조인 필요
+ */
+@Getter
+public enum MemberField {
+
+    MEMBER_ID("memberId", member.id, false),
+    USERNAME("username", member.username, false),
+    AGE("age", member.age, false),
+    TEAM_ID("teamId", member.team.id, false),
+    TEAM_NAME("teamName", team.name, true);
+
+    private final String fieldName;
+    private final Expression<?> expression;
+    private final boolean teamJoin;
+
+    MemberField(String fieldName, Expression<?> expression, boolean teamJoin) {
+        this.fieldName = fieldName;
+        this.expression = expression;
+        this.teamJoin = teamJoin;
+    }
+
+    /**
+     * @return 선택한 필드 (선언 순서), 지정하지 않았으면 빈 Set (전체 MemberTeamDto)
+     */
+    public static Set<MemberField> parse(Collection<String> fieldNames) {
+        Set<MemberField> fields = EnumSet.noneOf(MemberField.class);
+        if (fieldNames == null) {
+            return fields;
+        }
+        for (String fieldName : fieldNames) {
+            if (hasText(fieldName)) {
+                fields.add(of(fieldName.trim()));
+            }
+        }
+        return fields;
+    }
+
+    public static Expression<?>[] expressions(Set<MemberField> fields) {
+        List<Expression<?>> expressions = new ArrayList<>();
+        for (MemberField field : fields) {
+            expressions.add(field.expression);
+        }
+        return expressions.toArray(new Expression<?>[0]);
+    }
+
+    public static boolean needsTeamJoin(Set<MemberField> fields) {
+        for (MemberField field : fields) {
+            if (field.teamJoin) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MemberField of(String fieldName) {
+        List<String> allowed = new ArrayList<>();
+        for (MemberField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+            allowed.add(field.fieldName);
+        }
+        throw new UnsupportedFieldException(fieldName, allowed);
+    }
+
+}
@@ -0,0 +1,61 @@
+package study.querydsl.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.repository.support.ParallelIdRangeScanner;
+import study.querydsl.repository.support.ParallelIdRangeScanner.IdRange;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * member 테이블 전체를 member_id 구간으로 나눠 병렬로 읽음 (export, 통계 재계산)
+ * member.scan.parallelism(기본 4), member.scan.range-size(기본 10000 id)
+ * 구간은 시작 시점의 min/max(member_id) 기준 -> 스캔 중에 추가된 회원(더 큰 id)은 포함되지 않음
+ */
+@Component
+public class MemberIdRangeScanner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ParallelIdRangeScanner scanner;
+
+    public MemberIdRangeScanner(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${member.scan.parallelism:4}") int parallelism,
+                                @Value("${member.scan.range-size:10000}") long rangeSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scanner = new ParallelIdRangeScanner("member-scan", transactionManager, parallelism, rangeSize);
+    }
+
+    public List<IdRange> ranges() {
+        return jdbcTemplate.queryForObject("select min(member_id), max(member_id) from member",
+                (rs, rowNum) -> scanner.split(rs.getObject(1, Long.class), rs.getObject(2, Long.class)));
+    }
+
+    public <R> R reduce(Function<IdRange, R> scan, BinaryOperator<R> combiner, R identity) {
+        return scanner.reduce(ranges(), scan, combiner, identity);
+    }
+
+    public <R> void forEachOrdered(Function<IdRange, R> scan, Consumer<? super R> consumer) {
+        scanner.forEachOrdered(ranges(), scan, consumer);
+    }
+
+    public <R> void forEach(Function<IdRange, R> scan, Consumer<? super R> consumer) {
+        scanner.forEach(ranges(), scan, consumer);
+    }
+
+    public ParallelIdRangeScanner.Stats getStats() {
+        return scanner.getStats();
+    }
+
+    @PreDestroy
+    public void close() {
+        scanner.close();
+    }
+
+}
@@ -6,17 +6,32 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSearchCond.AgeRange;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.SearchConditionSupport;
+import study.querydsl.repository.support.UsernameIndex;
 
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.InQuerySupport.DEFAULT_CHUNK_SIZE;
+import static study.querydsl.repository.support.InQuerySupport.chunk;
+import static study.querydsl.repository.support.InQuerySupport.paddedChunk;
+import static study.querydsl.repository.support.SearchConditionSupport.textIn;
 
 @Repository
 @RequiredArgsConstructor
@@ -24,6 +39,7 @@ public class MemberJpaRepository {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory; // JPAQueryFactory Bean을 등록하고 생성자 주입 받는 방식
+    private final MemberUsernameIndex memberUsernameIndex;
 
 //    public MemberJpaRepository(EntityManager em) {
 //        this.em = em;
@@ -50,17 +66,74 @@ public class MemberJpaRepository {
                 .fetch();
     }
 
+    // 없는 username은 MemberUsernameIndex로 판단하고 DB 조회 생략
     public List<Member> findByUsername(String username) {
-        return em.createQuery(
+        return memberUsernameIndex.findByUsername(em, username, () -> em.createQuery(
                         "select m from Member m where m.username = :username", Member.class)
                 .setParameter("username", username)
-                .getResultList();
+                .getResultList());
     }
 
     public List<Member> findByUsername_Querydsl(String username) {
-        return queryFactory
+        return memberUsernameIndex.findByUsername(em, username, () -> queryFactory
                 .selectFrom(member)
                 .where(member.username.eq(username))
+                .fetch());
+    }
+
+    /**
+     * username 여러 개를 한 번에 조회 (username별 회원 목록, 없는 username은 빈 목록)
+     * 인덱스로 없는 username은 제외하고, IN 절 크기는 2의 거듭제곱으로 맞춰서 나눠서 조회
+     */
+    public Map<String, List<Member>> findAllByUsernames(Collection<String> usernames) {
+        Map<String, List<Member>> result = new LinkedHashMap<>();
+        List<String> candidates = new ArrayList<>();
+        memberUsernameIndex.lookupAll(usernames).forEach((username, hint) -> {
+            result.put(username, new ArrayList<>());
+            if (hint != UsernameIndex.ABSENT) {
+                candidates.add(username);
+            }
+        });
+
+        for (List<String> chunk : paddedChunk(candidates, DEFAULT_CHUNK_SIZE)) {
+            List<Member> members = queryFactory
+                    .selectFrom(member)
+                    .where(member.username.in(chunk))
+                    .fetch();
+            for (Member m : members) {
+                result.computeIfAbsent(m.getUsername(), k -> new ArrayList<>()).add(m);
+            }
+        }
+        return result;
+    }
+
+    // id 여러 개를 팀 정보까지 한 번에 조회 (MemberLookupService의 배치 조회용)
+    public Map<Long, MemberTeamDto> findAllDtoByIds(Collection<Long> memberIds) {
+        Map<Long, MemberTeamDto> result = new LinkedHashMap<>();
+        for (List<Long> chunk : paddedChunk(memberIds, DEFAULT_CHUNK_SIZE)) {
+            List<MemberTeamDto> members = queryFactory
+                    .select(new QMemberTeamDto(
+                            member.id,
+                            member.username,
+                            member.age,
+                            team.id,
+                            team.name))
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(member.id.in(chunk))
+                    .fetch();
+            for (MemberTeamDto dto : members) {
+                result.put(dto.getMemberId(), dto);
+            }
+        }
+        return result;
+    }
+
+    // 정규화된 username_lower 컬럼(인덱스)으로 대소문자 구분 없이 조회
+    public List<Member> findByUsernameIgnoreCase_Querydsl(String username) {
+        return queryFactory
+                .selectFrom(member)
+                .where(member.usernameLower.eq(Member.normalizeUsername(username)))
                 .fetch();
     }
 
@@ -79,6 +152,10 @@ public class MemberJpaRepository {
         if (cond.getAgeLoe() != null) {
             builder.and(member.age.loe(cond.getAgeLoe()));
         }
+        // 목록 조건은 값이 없으면 null -> BooleanBuilder.and(null)은 무시됨
+        builder.and(usernameIn(cond.getUsernames()));
+        builder.and(teamNameIn(cond.getTeamNames()));
+        builder.and(ageRangeIn(cond.getAgeRanges()));
 
         return queryFactory
                 .select(new QMemberTeamDto(
@@ -105,9 +182,12 @@ public class MemberJpaRepository {
                 .leftJoin(member.team, team)
                 .where(
                         usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe())
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
                 )
                 .fetch();
     }
@@ -128,6 +208,18 @@ public class MemberJpaRepository {
         return ageLoeCond == null ? null : member.age.loe(ageLoeCond);
     }
 
+    private BooleanExpression usernameIn(List<String> usernamesCond) {
+        return textIn(member.username, usernamesCond);
+    }
+
+    private BooleanExpression teamNameIn(List<String> teamNamesCond) {
+        return textIn(team.name, teamNamesCond);
+    }
+
+    private BooleanExpression ageRangeIn(List<AgeRange> ageRangesCond) {
+        return SearchConditionSupport.ageRangeIn(member.age, ageRangesCond);
+    }
+
     // MemberTeamDto가 아닌 Member 엔티티 조회 시에도 위에서 작성한 BooleanExpression 사용 가능
     public List<Member> searchMemberByWhere(MemberSearchCond cond) {
         return queryFactory
@@ -135,11 +227,35 @@ public class MemberJpaRepository {
                 .leftJoin(member.team, team)
                 .where( // where 방식 동적 쿼리의 장점 -> 재사용성
                         usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe())
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
                 )
                 .fetch();
     }
 
+    // 이미 조회한 회원들의 팀 프록시를 chunk 단위 IN 쿼리로 한 번에 초기화 (N+1 방지)
+    public List<Member> preloadTeams(List<Member> members) {
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+        Set<Long> teamIds = new LinkedHashSet<>();
+        for (Member m : members) {
+            Team t = m.getTeam();
+            if (t != null && !util.isLoaded(t)) {
+                teamIds.add((Long) util.getIdentifier(t)); // 프록시 초기화 없이 id 조회
+            }
+        }
+
+        for (List<Long> ids : chunk(teamIds, DEFAULT_CHUNK_SIZE)) {
+            queryFactory
+                    .selectFrom(team)
+                    .where(team.id.in(ids))
+                    .fetch(); // 영속성 컨텍스트의 프록시가 조회된 엔티티로 초기화됨
+        }
+        return members;
+    }
+
 }
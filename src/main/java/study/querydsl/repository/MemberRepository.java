@@ -11,6 +11,11 @@ public interface MemberRepository extends
         MemberRepositoryCustom,
         QuerydslPredicateExecutor<Member> { // 실제 실무 적용 한계 O, Service나 Controller 코드가 Querydsl 의존 + 제한된 기능
 
-    List<Member> findByUsername(String username);
+    List<Member> findByUsernameLower(String usernameLower);
+
+    // member.username.lower() 조건과 달리 idx_member_username_lower 인덱스 사용
+    default List<Member> findByUsernameIgnoreCaseIndexed(String username) {
+        return findByUsernameLower(Member.normalizeUsername(username));
+    }
 
 }
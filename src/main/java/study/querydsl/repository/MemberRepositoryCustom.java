@@ -2,15 +2,44 @@ package study.querydsl.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.AgeHistogramDto;
 import study.querydsl.dto.MemberSearchCond;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberUpsertDto;
+import study.querydsl.dto.MemberUpsertResult;
+import study.querydsl.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface MemberRepositoryCustom {
 
+    // 없는 username은 MemberUsernameIndex로 판단하고 DB 조회 생략
+    List<Member> findByUsername(String username);
+
+    // username별 회원 목록, IN 절 크기를 2의 거듭제곱으로 맞춰서 나눠서 조회
+    Map<String, List<Member>> findAllByUsernames(Collection<String> usernames);
+
     List<MemberTeamDto> search(MemberSearchCond cond);
     Page<MemberTeamDto> searchPageSimple(MemberSearchCond cond, Pageable pageable);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCond cond, Pageable pageable);
 
+    // 비정규화 읽기 모델(member_team_view)에서 조회 - team 조인 없음 (MemberTeamReadModel)
+    List<MemberTeamDto> searchReadModel(MemberSearchCond cond);
+    Page<MemberTeamDto> searchPageReadModel(MemberSearchCond cond, Pageable pageable);
+
+    // fields로 선택한 필드만 (필드명 -> 값), 필요 없으면 team 조인 생략
+    List<Map<String, Object>> searchFields(MemberSearchCond cond, Set<MemberField> fields);
+    Page<Map<String, Object>> searchPageFields(MemberSearchCond cond, Set<MemberField> fields, Pageable pageable);
+
+    MemberUpsertResult upsertByUsername(List<MemberUpsertDto> rows);
+
+    List<Long> bulkAddAge(MemberSearchCond cond, int delta);
+    List<Long> bulkDelete(MemberSearchCond cond);
+
+    List<AgeHistogramDto> ageHistogram(MemberSearchCond cond);
+    List<AgeHistogramDto> ageHistogram(MemberSearchCond cond, long fromId, long toId);
+
 }
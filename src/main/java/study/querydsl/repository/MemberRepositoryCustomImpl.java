@@ -1,29 +1,86 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.QueryResults;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.TypedParameterValue;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.AgeHistogramDto;
 import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSearchCond.AgeRange;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberUpsertDto;
+import study.querydsl.dto.MemberUpsertResult;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.repository.support.IdGeneratorSupport;
+import study.querydsl.repository.support.SearchConditionSupport;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QMemberTeamView.memberTeamView;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.InQuerySupport.DEFAULT_CHUNK_SIZE;
+import static study.querydsl.repository.support.InQuerySupport.chunk;
+import static study.querydsl.repository.support.PersistenceContextSupport.managedEntities;
+import static study.querydsl.repository.support.SearchConditionSupport.textIn;
 
 @RequiredArgsConstructor
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
 
+    public static final int AGE_BUCKET_WIDTH = 10;
+    public static final int AGE_BUCKET_MAX = 60; // 60살 이상은 한 구간
+
+    private static final int UPSERT_CHUNK_SIZE = 500;
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MemberUsernameIndex memberUsernameIndex;
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberTeamReadModel memberTeamReadModel;
+
+    @Override
+    public List<Member> findByUsername(String username) {
+        return memberUsernameIndex.findByUsername(em, username, () -> queryFactory
+                .selectFrom(member)
+                .where(member.username.eq(username))
+                .fetch());
+    }
+
+    @Override
+    public Map<String, List<Member>> findAllByUsernames(Collection<String> usernames) {
+        return memberJpaRepository.findAllByUsernames(usernames);
+    }
 
     @Override
     public List<MemberTeamDto> search(MemberSearchCond cond) {
@@ -38,9 +95,12 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                 .leftJoin(member.team, team)
                 .where(
                         usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe())
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
                 )
                 .fetch();
     }
@@ -58,10 +118,14 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                 .leftJoin(member.team, team)
                 .where(
                         usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe())
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
                 )
+                .orderBy(MemberSortPolicy.INSTANCE.toOrderSpecifiers(pageable.getSort())) // 허용된 정렬 키만 적용
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetchResults();
@@ -85,10 +149,14 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                 .leftJoin(member.team, team)
                 .where(
                         usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe())
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
                 )
+                .orderBy(MemberSortPolicy.INSTANCE.toOrderSpecifiers(pageable.getSort())) // 허용된 정렬 키만 적용
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch(); // fetchResults가 아닌 fetch 사용
@@ -101,9 +169,12 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                 .leftJoin(member.team, team)
                 .where(
                         usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe())
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
                 );
 
         // count 쿼리 최적화 -> 필요없을 때 count 쿼리 생략 가능
@@ -113,6 +184,408 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
 //        return new PageImpl<>(content, pageable, total);
     }
 
+    @Override
+    public List<MemberTeamDto> searchReadModel(MemberSearchCond cond) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        memberTeamView.memberId,
+                        memberTeamView.username,
+                        memberTeamView.age,
+                        memberTeamView.teamId,
+                        memberTeamView.teamName))
+                .from(memberTeamView)
+                .where(readModelConditions(cond))
+                .fetch();
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPageReadModel(MemberSearchCond cond, Pageable pageable) {
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        memberTeamView.memberId,
+                        memberTeamView.username,
+                        memberTeamView.age,
+                        memberTeamView.teamId,
+                        memberTeamView.teamName))
+                .from(memberTeamView)
+                .where(readModelConditions(cond))
+                .orderBy(MemberSortPolicy.READ_MODEL.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(memberTeamView.count())
+                .from(memberTeamView)
+                .where(readModelConditions(cond));
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    /**
+     * fields로 선택한 컬럼만 조회 - team 필드, teamName 조건이 없으면 team 조인 생략
+     */
+    @Override
+    public List<Map<String, Object>> searchFields(MemberSearchCond cond, Set<MemberField> fields) {
+        return toRows(fieldQuery(cond, fields).fetch(), fields);
+    }
+
+    @Override
+    public Page<Map<String, Object>> searchPageFields(MemberSearchCond cond, Set<MemberField> fields, Pageable pageable) {
+        List<Tuple> content = fieldQuery(cond, fields)
+                .orderBy(MemberSortPolicy.INSTANCE.toOrderSpecifiers(pageable.getSort())) // 허용된 정렬 키만 적용
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.count())
+                .from(member);
+        if (cond.hasTeamCondition()) {
+            countQuery.leftJoin(member.team, team);
+        }
+        countQuery.where(
+                usernameEq(cond.getUsername()),
+                usernameIn(cond.getUsernames()),
+                teamNameEq(cond.getTeamName()),
+                teamNameIn(cond.getTeamNames()),
+                ageGoe(cond.getAgeGoe()),
+                ageLoe(cond.getAgeLoe()),
+                ageRangeIn(cond.getAgeRanges())
+        );
+
+        return PageableExecutionUtils.getPage(toRows(content, fields), pageable, countQuery::fetchOne);
+    }
+
+    /**
+     * 팀별 나이 구간(10살 단위) 분포 - 회원 목록을 가져오지 않고 group by 한 번으로 계산
+     * case 문을 리터럴로 만들어서 select 절과 group by 절의 SQL이 같도록 함 (파라미터로 바인딩되면 H2에서 group by 오류)
+     */
+    @Override
+    public List<AgeHistogramDto> ageHistogram(MemberSearchCond cond) {
+        return ageHistogram(cond, null);
+    }
+
+    // member_id 구간별 부분 집계 (MemberIdRangeScanner로 병렬 실행 후 합침)
+    @Override
+    public List<AgeHistogramDto> ageHistogram(MemberSearchCond cond, long fromId, long toId) {
+        return ageHistogram(cond, member.id.between(fromId, toId));
+    }
+
+    private List<AgeHistogramDto> ageHistogram(MemberSearchCond cond, BooleanExpression idRange) {
+        NumberExpression<Integer> bucket = ageBucket();
+
+        List<Tuple> rows = queryFactory
+                .select(team.id, team.name, bucket, member.count())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        idRange,
+                        usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
+                        teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
+                        ageGoe(cond.getAgeGoe()),
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
+                )
+                .groupBy(team.id, team.name, bucket)
+                .orderBy(team.id.asc())
+                .fetch();
+
+        Map<Long, AgeHistogramDto> result = new LinkedHashMap<>();
+        for (Tuple row : rows) {
+            Long teamId = row.get(team.id);
+            AgeHistogramDto histogram = result.computeIfAbsent(teamId, id -> new AgeHistogramDto(id, row.get(team.name)));
+            histogram.getBuckets().put(row.get(bucket), row.get(member.count()));
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    private static NumberExpression<Integer> ageBucket() {
+        StringBuilder template = new StringBuilder("case");
+        for (int from = 0; from < AGE_BUCKET_MAX; from += AGE_BUCKET_WIDTH) {
+            template.append(" when {0} < ").append(from + AGE_BUCKET_WIDTH).append(" then ").append(from);
+        }
+        template.append(" else ").append(AGE_BUCKET_MAX).append(" end");
+        return Expressions.numberTemplate(Integer.class, template.toString(), member.age);
+    }
+
+    /**
+     * username 기준 일괄 upsert - chunk 단위 MERGE INTO (H2)
+     * 같은 username이 여러 번 들어오면 마지막 값 사용, 팀 이름이 비어 있으면 팀 없음, 존재하지 않는 팀 이름은 IllegalArgumentException
+     * inserted / updated는 username 수 - 이미 있는 회원은 MERGE 전에 잠가서(for update) 그 회원만 수정, 나머지는 추가
+     * (username에 unique 제약이 없으므로 다른 트랜잭션이 같은 새 username을 동시에 추가하는 것은 막지 않음)
+     */
+    @Override
+    @Transactional
+    public MemberUpsertResult upsertByUsername(List<MemberUpsertDto> rows) {
+        Map<String, MemberUpsertDto> byUsername = new LinkedHashMap<>();
+        for (MemberUpsertDto row : rows) {
+            byUsername.put(row.getUsername(), row);
+        }
+        if (byUsername.isEmpty()) {
+            return new MemberUpsertResult(0, 0);
+        }
+        Map<String, Long> teamIds = teamIds(byUsername.values());
+
+        em.flush(); // 영속성 컨텍스트의 변경 사항을 먼저 반영
+        memberUsernameIndex.registerUsernames(byUsername.keySet()); // MERGE로 추가되는 회원은 id를 모르므로 미리 등록
+        String nextId = IdGeneratorSupport.nextIdSql(em.getEntityManagerFactory(), Member.class);
+
+        long inserted = 0;
+        long updated = 0;
+        for (List<MemberUpsertDto> chunk : chunk(byUsername.values(), UPSERT_CHUNK_SIZE)) {
+            List<String> usernames = new ArrayList<>();
+            for (MemberUpsertDto row : chunk) {
+                usernames.add(row.getUsername());
+            }
+
+            Set<String> existing = lockExisting(usernames);
+            mergeQuery(chunk, teamIds, existing, nextId).executeUpdate();
+            updated += existing.size();
+            inserted += chunk.size() - existing.size();
+            memberTeamReadModel.refreshUsernames(usernames);
+        }
+
+        refreshManagedMembers(byUsername.keySet());
+        eventPublisher.publishEvent(MemberChangedEvent.global()); // 이전 팀, 나이를 알 수 없으므로 전체 무효화
+        return new MemberUpsertResult(inserted, updated);
+    }
+
+    // 팀 이름 -> 팀 id (같은 이름이 여러 개면 가장 작은 id), 없는 팀 이름이 있으면 예외
+    private Map<String, Long> teamIds(Collection<MemberUpsertDto> rows) {
+        Set<String> teamNames = new LinkedHashSet<>();
+        for (MemberUpsertDto row : rows) {
+            if (hasText(row.getTeamName())) {
+                teamNames.add(row.getTeamName());
+            }
+        }
+
+        Map<String, Long> teamIds = new HashMap<>();
+        for (List<String> names : chunk(teamNames, DEFAULT_CHUNK_SIZE)) {
+            for (Tuple tuple : queryFactory
+                    .select(team.name, team.id.min())
+                    .from(team)
+                    .where(team.name.in(names))
+                    .groupBy(team.name)
+                    .fetch()) {
+                teamIds.put(tuple.get(team.name), tuple.get(team.id.min()));
+            }
+        }
+
+        teamNames.removeAll(teamIds.keySet());
+        if (!teamNames.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 팀입니다: " + teamNames);
+        }
+        return teamIds;
+    }
+
+    // 이미 있는 회원의 username - 커밋까지 잠가서 MERGE 사이에 삭제/수정되지 않도록 함 (H2는 distinct와 for update를 같이 쓸 수 없음)
+    @SuppressWarnings("unchecked")
+    private Set<String> lockExisting(List<String> usernames) {
+        List<String> found = em.createNativeQuery("select username from member where username in (:usernames) for update")
+                .setParameter("usernames", usernames)
+                .getResultList();
+        return new HashSet<>(found);
+    }
+
+    // 잠근 회원(existing)만 수정, 나머지는 추가
+    private Query mergeQuery(List<MemberUpsertDto> chunk, Map<String, Long> teamIds, Set<String> existing, String nextId) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < chunk.size(); i++) {
+            values.append(i == 0 ? "" : ", ")
+                    .append("(cast(? as varchar(255)), cast(? as varchar(255)), cast(? as integer), cast(? as bigint), cast(? as boolean))");
+        }
+
+        String sql = "merge into member m" +
+                " using (select v.username, v.username_lower, v.age, v.team_id, v.existing" +
+                "   from (values " + values + ") v(username, username_lower, age, team_id, existing)) s" +
+                " on m.username = s.username and s.existing" +
+                " when matched then update set age = s.age, team_id = s.team_id" +
+                " when not matched then insert (member_id, username, username_lower, age, team_id)" +
+                "   values (" + nextId + ", s.username, s.username_lower, s.age, s.team_id)";
+
+        Query query = em.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Member.class); // Member 2차 캐시 영역 무효화
+
+        int position = 1;
+        for (MemberUpsertDto row : chunk) {
+            query.setParameter(position++, row.getUsername());
+            query.setParameter(position++, Member.normalizeUsername(row.getUsername()));
+            query.setParameter(position++, row.getAge());
+            query.setParameter(position++, new TypedParameterValue(StandardBasicTypes.LONG,
+                    hasText(row.getTeamName()) ? teamIds.get(row.getTeamName()) : null));
+            query.setParameter(position++, existing.contains(row.getUsername()));
+        }
+        return query;
+    }
+
+    // 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 이미 로딩된 회원만 골라서 DB 값으로 다시 읽음 (em.clear() 대신)
+    private void refreshManagedMembers(Set<String> usernames) {
+        for (Member m : managedEntities(em, Member.class)) {
+            if (usernames.contains(m.getUsername())) {
+                em.refresh(m);
+            }
+        }
+    }
+
+    /**
+     * 조건에 맞는 회원의 나이를 delta 만큼 더하고, 수정된 회원 id 반환
+     * 조인 조건(teamName)은 벌크 update에 쓸 수 없으므로 chunk 단위로 id를 잠가서 조회한 뒤 id 기준으로 수정
+     */
+    @Override
+    @Transactional
+    public List<Long> bulkAddAge(MemberSearchCond cond, int delta) {
+        BulkTargets targets = new BulkTargets();
+        for (List<Tuple> chunk = lockNextTargets(cond, null); !chunk.isEmpty(); chunk = lockNextTargets(cond, targets.lastId())) {
+            List<Long> ids = targets.add(chunk);
+            queryFactory
+                    .update(member)
+                    .set(member.age, member.age.add(delta))
+                    .where(member.id.in(ids))
+                    .execute();
+            memberTeamReadModel.refreshMembers(ids);
+            evictSecondLevelCache(ids);
+        }
+
+        Set<Long> affected = new HashSet<>(targets.ids);
+        for (Member m : managedEntities(em, Member.class)) {
+            if (affected.contains(m.getId())) {
+                em.refresh(m);
+            }
+        }
+        publishChanged(targets, Math.min(delta, 0), Math.max(delta, 0));
+        return targets.ids;
+    }
+
+    /**
+     * 조건에 맞는 회원을 삭제하고, 삭제된 회원 id 반환
+     */
+    @Override
+    @Transactional
+    public List<Long> bulkDelete(MemberSearchCond cond) {
+        BulkTargets targets = new BulkTargets();
+        for (List<Tuple> chunk = lockNextTargets(cond, null); !chunk.isEmpty(); chunk = lockNextTargets(cond, targets.lastId())) {
+            List<Long> ids = targets.add(chunk);
+            queryFactory
+                    .delete(member)
+                    .where(member.id.in(ids))
+                    .execute();
+            memberTeamReadModel.refreshMembers(ids);
+            evictSecondLevelCache(ids);
+        }
+
+        Set<Long> affected = new HashSet<>(targets.ids);
+        for (Member m : managedEntities(em, Member.class)) {
+            if (affected.contains(m.getId())) {
+                em.detach(m);
+            }
+        }
+        publishChanged(targets, 0, 0);
+        return targets.ids;
+    }
+
+    /**
+     * 벌크 연산 대상 (id, 팀 id, 나이) 다음 chunk - id 기준 keyset 조회
+     * select ... for update 로 잠그므로 조회 이후 수정/삭제 전까지 다른 트랜잭션이 나이, 팀을 바꿔서 조건에서 벗어날 수 없음
+     * 조건은 chunk마다 다시 평가되므로 앞 chunk 처리 중에 바뀐 회원도 현재 값 기준으로 포함/제외됨
+     */
+    private List<Tuple> lockNextTargets(MemberSearchCond cond, Long lastId) {
+        em.flush(); // 영속성 컨텍스트의 변경 사항을 먼저 반영
+        return queryFactory
+                .select(member.id, team.id, member.age)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        lastId != null ? member.id.gt(lastId) : null,
+                        usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
+                        teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
+                        ageGoe(cond.getAgeGoe()),
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
+                )
+                .orderBy(member.id.asc())
+                .limit(BULK_CHUNK_SIZE)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    // 처리한 회원 id와 캐시 무효화 범위 (팀 id, 나이 범위) - chunk 조회 결과(Tuple)는 쌓아 두지 않음
+    private static class BulkTargets {
+
+        private final List<Long> ids = new ArrayList<>();
+        private final Set<Long> teamIds = new HashSet<>();
+        private int minAge = Integer.MAX_VALUE;
+        private int maxAge = Integer.MIN_VALUE;
+
+        private List<Long> add(List<Tuple> chunk) {
+            List<Long> chunkIds = new ArrayList<>(chunk.size());
+            for (Tuple target : chunk) {
+                chunkIds.add(target.get(member.id));
+                teamIds.add(target.get(team.id));
+                int age = target.get(member.age);
+                minAge = Math.min(minAge, age);
+                maxAge = Math.max(maxAge, age);
+            }
+            ids.addAll(chunkIds);
+            return chunkIds;
+        }
+
+        private Long lastId() {
+            return ids.get(ids.size() - 1);
+        }
+    }
+
+    // 벌크 연산은 Hibernate 이벤트가 발생하지 않으므로 직접 발행
+    private void publishChanged(BulkTargets targets, int ageDeltaMin, int ageDeltaMax) {
+        if (targets.ids.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(MemberChangedEvent.of(targets.teamIds, targets.minAge + ageDeltaMin, targets.maxAge + ageDeltaMax));
+    }
+
+    private void evictSecondLevelCache(List<Long> ids) {
+        Cache cache = em.getEntityManagerFactory().getCache();
+        for (Long id : ids) {
+            cache.evict(Member.class, id);
+        }
+    }
+
+    private JPAQuery<Tuple> fieldQuery(MemberSearchCond cond, Set<MemberField> fields) {
+        JPAQuery<Tuple> query = queryFactory
+                .select(MemberField.expressions(fields))
+                .from(member);
+        if (MemberField.needsTeamJoin(fields) || cond.hasTeamCondition()) {
+            query.leftJoin(member.team, team);
+        }
+        return query.where(
+                usernameEq(cond.getUsername()),
+                usernameIn(cond.getUsernames()),
+                teamNameEq(cond.getTeamName()),
+                teamNameIn(cond.getTeamNames()),
+                ageGoe(cond.getAgeGoe()),
+                ageLoe(cond.getAgeLoe()),
+                ageRangeIn(cond.getAgeRanges())
+        );
+    }
+
+    // 선택한 필드만 담은 응답 행 (필드 선언 순서)
+    private List<Map<String, Object>> toRows(List<Tuple> tuples, Set<MemberField> fields) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (MemberField field : fields) {
+                row.put(field.getFieldName(), tuple.get(field.getExpression()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
     private BooleanExpression usernameEq(String usernameCond) {
         return hasText(usernameCond) ? member.username.eq(usernameCond) : null;
     }
@@ -129,4 +602,29 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
         return ageLoeCond == null ? null : member.age.loe(ageLoeCond);
     }
 
+    private BooleanExpression usernameIn(List<String> usernamesCond) {
+        return textIn(member.username, usernamesCond);
+    }
+
+    private BooleanExpression teamNameIn(List<String> teamNamesCond) {
+        return textIn(team.name, teamNamesCond);
+    }
+
+    private BooleanExpression ageRangeIn(List<AgeRange> ageRangesCond) {
+        return SearchConditionSupport.ageRangeIn(member.age, ageRangesCond);
+    }
+
+    // 읽기 모델 조건 - 위의 조건과 같고 대상 컬럼만 member_team_view
+    private Predicate[] readModelConditions(MemberSearchCond cond) {
+        return new Predicate[]{
+                hasText(cond.getUsername()) ? memberTeamView.username.eq(cond.getUsername()) : null,
+                textIn(memberTeamView.username, cond.getUsernames()),
+                hasText(cond.getTeamName()) ? memberTeamView.teamName.eq(cond.getTeamName()) : null,
+                textIn(memberTeamView.teamName, cond.getTeamNames()),
+                cond.getAgeGoe() == null ? null : memberTeamView.age.goe(cond.getAgeGoe()),
+                cond.getAgeLoe() == null ? null : memberTeamView.age.loe(cond.getAgeLoe()),
+                SearchConditionSupport.ageRangeIn(memberTeamView.age, cond.getAgeRanges())
+        };
+    }
+
 }
@@ -0,0 +1,33 @@
+package study.querydsl.repository;
+
+import study.querydsl.repository.support.SortPolicy;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QMemberTeamView.memberTeamView;
+
+/**
+ * 회원 검색에서 허용하는 정렬 키 - Member 엔티티의 인덱스(idx_member_username, idx_member_age)와 맞춰서 관리
+ * team.name 등 조인을 거치는 정렬은 허용하지 않음
+ */
+public final class MemberSortPolicy {
+
+    public static final SortPolicy INSTANCE = SortPolicy.builder(member.id)
+            .allow("id", member.id)
+            .allow("memberId", member.id)
+            .allow("username", member.username)
+            .allow("age", member.age)
+            .build();
+
+    // 읽기 모델(member_team_view)도 INSTANCE와 같은 키만 허용
+    // 읽기 모델 사용 여부(설정, 트랜잭션 안에서는 조인 쿼리)에 따라 같은 요청이 400이 되거나 되지 않으면 안 됨
+    public static final SortPolicy READ_MODEL = SortPolicy.builder(memberTeamView.memberId)
+            .allow("id", memberTeamView.memberId)
+            .allow("memberId", memberTeamView.memberId)
+            .allow("username", memberTeamView.username)
+            .allow("age", memberTeamView.age)
+            .build();
+
+    private MemberSortPolicy() {
+    }
+
+}
@@ -0,0 +1,304 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberRankDto;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSearchCond.AgeRange;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.support.SearchConditionSupport;
+import study.querydsl.repository.support.SortPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.repository.support.SearchConditionSupport.textIn;
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * querydsl-sql 기반 회원 검색 - MemberRepositoryCustom의 search / searchPageSimple / searchPageComplex와 같은 결과
+ * JPQL 파싱, 엔티티 매핑 없이 SQL 결과를 바로 MemberTeamDto로 변환
+ */
+@Repository
+@Transactional(readOnly = true) // SpringConnectionProvider는 트랜잭션에 묶인 커넥션만 사용
+public class MemberSqlRepository {
+
+    private static final SortPolicy SORT_POLICY = SortPolicy.builder(member.memberId)
+            .allow("id", member.memberId)
+            .allow("memberId", member.memberId)
+            .allow("username", member.username)
+            .allow("age", member.age)
+            .build();
+
+    private static final long ROW_COUNT_TTL_MILLIS = 60_000;
+
+    private final SQLQueryFactory sqlQueryFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final long windowCountMaxRows;
+
+    // member 테이블 행 수 추정치 (DB 통계) - 데이터가 늘어날 수 있으므로 ROW_COUNT_TTL_MILLIS 후 다시 읽음
+    private volatile long memberRowCountEstimate;
+    private volatile long rowCountExpiresAt;
+
+    public MemberSqlRepository(SQLQueryFactory sqlQueryFactory,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${member.paging.window-count-max-rows:10000}") long windowCountMaxRows) {
+        this.sqlQueryFactory = sqlQueryFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowCountMaxRows = windowCountMaxRows;
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCond cond) {
+        return selectMemberTeamDto()
+                .where(
+                        usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
+                        teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
+                        ageGoe(cond.getAgeGoe()),
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
+                )
+                .fetch();
+    }
+
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCond cond, Pageable pageable) {
+        List<MemberTeamDto> content = contentQuery(cond, pageable).fetch();
+        return new PageImpl<>(content, pageable, countQuery(cond).fetchOne());
+    }
+
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCond cond, Pageable pageable) {
+        List<MemberTeamDto> content = contentQuery(cond, pageable).fetch();
+
+        SQLQuery<Long> countQuery = countQuery(cond);
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    /**
+     * 컨텐츠와 전체 개수를 COUNT(*) OVER() 로 한 번에 조회 -> DB 왕복 1번
+     * 요청한 페이지가 범위를 벗어나 결과가 없을 때만 count 쿼리 실행
+     */
+    public Page<MemberTeamDto> searchPageWithTotal(MemberSearchCond cond, Pageable pageable) {
+        SimpleExpression<Long> total = SQLExpressions.count().over().as("total");
+
+        List<Tuple> rows = sqlQueryFactory
+                .select(member.memberId,
+                        member.username,
+                        member.age,
+                        team.teamId,
+                        team.name,
+                        total)
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId))
+                .where(
+                        usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
+                        teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
+                        ageGoe(cond.getAgeGoe()),
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
+                )
+                .orderBy(SORT_POLICY.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        if (rows.isEmpty()) {
+            SQLQuery<Long> countQuery = countQuery(cond);
+            return PageableExecutionUtils.getPage(new ArrayList<>(), pageable, countQuery::fetchOne);
+        }
+
+        List<MemberTeamDto> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            content.add(new MemberTeamDto(
+                    row.get(member.memberId),
+                    row.get(member.username),
+                    row.get(member.age),
+                    row.get(team.teamId),
+                    row.get(team.name)));
+        }
+        return new PageImpl<>(content, pageable, rows.get(0).get(total));
+    }
+
+    /**
+     * 조건에 맞는 회원 수 추정치가 member.paging.window-count-max-rows(기본 10000) 이하면 COUNT(*) OVER() 한 번으로,
+     * 그보다 많으면 count 쿼리를 따로 실행하는 searchPageComplex 사용
+     * COUNT(*) OVER()는 조건에 맞는 모든 로우를 읽어야 하므로 결과가 큰 조건(조건 없음 포함)에서는 별도 count가 더 저렴
+     * 추정은 DB 통계와 조건 형태로만 하므로 판단을 위한 쿼리가 따로 나가지 않음 (행 수 추정치는 ROW_COUNT_TTL_MILLIS마다 한 번)
+     */
+    public Page<MemberTeamDto> searchPageAuto(MemberSearchCond cond, Pageable pageable) {
+        if (preferWindowCount(cond)) {
+            return searchPageWithTotal(cond, pageable);
+        }
+        return searchPageComplex(cond, pageable);
+    }
+
+    boolean preferWindowCount(MemberSearchCond cond) {
+        return estimateRows(cond.normalized()) <= windowCountMaxRows;
+    }
+
+    // username 조건은 username 인덱스 lookup이므로 username 수 만큼으로 추정
+    // 팀, 나이 조건은 선택도 통계가 없으므로 테이블 전체 행 수 추정치 (크게 잡아서 별도 count 쪽으로)
+    private long estimateRows(MemberSearchCond cond) {
+        if (cond.getUsername() != null) {
+            return 1;
+        }
+        if (cond.getUsernames() != null) {
+            return cond.getUsernames().size();
+        }
+        return memberRowCountEstimate();
+    }
+
+    // H2 INFORMATION_SCHEMA.TABLES.ROW_COUNT_ESTIMATE - 테이블을 읽지 않는 메타데이터 조회, 알 수 없으면 Long.MAX_VALUE
+    long memberRowCountEstimate() {
+        long now = System.currentTimeMillis();
+        if (now < rowCountExpiresAt) {
+            return memberRowCountEstimate;
+        }
+        List<Long> estimates = jdbcTemplate.queryForList(
+                "select row_count_estimate from information_schema.tables where table_schema = ? and table_name = ?",
+                Long.class, member.getSchemaName(), member.getTableName());
+        long estimate = estimates.isEmpty() || estimates.get(0) == null ? Long.MAX_VALUE : estimates.get(0);
+        memberRowCountEstimate = estimate;
+        rowCountExpiresAt = now + ROW_COUNT_TTL_MILLIS;
+        return estimate;
+    }
+
+    /**
+     * 팀별 나이 상위 n명 - ROW_NUMBER() OVER (PARTITION BY team_id ORDER BY age DESC) 한 번으로 계산
+     * 상관 서브쿼리(BasicSyntaxTest.subQuery) 방식과 달리 member를 한 번만 읽음
+     * cond는 순위 계산 전에 적용, n <= 0 이면 모든 회원의 팀 내 순위 반환
+     */
+    public List<MemberRankDto> findTopByAgePerTeam(MemberSearchCond cond, int n) {
+        SQLQuery<Tuple> ranked = SQLExpressions
+                .select(member.memberId,
+                        member.username,
+                        member.age,
+                        team.teamId,
+                        team.name,
+                        SQLExpressions.rowNumber().over()
+                                .partitionBy(team.teamId)
+                                .orderBy(member.age.desc(), member.memberId.asc())
+                                .as("rn"))
+                .from(member)
+                .join(team).on(member.teamId.eq(team.teamId))
+                .where(
+                        usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
+                        teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
+                        ageGoe(cond.getAgeGoe()),
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
+                );
+
+        PathBuilder<Object> r = new PathBuilder<>(Object.class, "ranked");
+        NumberPath<Long> rMemberId = r.getNumber("member_id", Long.class);
+        NumberPath<Integer> rAge = r.getNumber("age", Integer.class);
+        NumberPath<Long> rTeamId = r.getNumber("team_id", Long.class);
+        NumberPath<Long> rank = r.getNumber("rn", Long.class);
+        StringPath rUsername = r.getString("username");
+        StringPath rTeamName = r.getString("name");
+
+        return sqlQueryFactory
+                .select(MemberRankDto.projection(rMemberId, rUsername, rAge, rTeamId, rTeamName, rank))
+                .from(ranked, r)
+                .where(n > 0 ? rank.loe((long) n) : null)
+                .orderBy(rTeamId.asc(), rank.asc())
+                .fetch();
+    }
+
+    private SQLQuery<MemberTeamDto> contentQuery(MemberSearchCond cond, Pageable pageable) {
+        return selectMemberTeamDto()
+                .where(
+                        usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
+                        teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
+                        ageGoe(cond.getAgeGoe()),
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
+                )
+                .orderBy(SORT_POLICY.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize());
+    }
+
+    // 팀 조건이 없으면 count 쿼리에서 team 조인 생략
+    private SQLQuery<Long> countQuery(MemberSearchCond cond) {
+        SQLQuery<Long> query = sqlQueryFactory
+                .select(member.memberId.count())
+                .from(member);
+        if (cond.hasTeamCondition()) {
+            query.join(team).on(member.teamId.eq(team.teamId));
+        }
+        return query.where(
+                usernameEq(cond.getUsername()),
+                usernameIn(cond.getUsernames()),
+                teamNameEq(cond.getTeamName()),
+                teamNameIn(cond.getTeamNames()),
+                ageGoe(cond.getAgeGoe()),
+                ageLoe(cond.getAgeLoe()),
+                ageRangeIn(cond.getAgeRanges())
+        );
+    }
+
+    private SQLQuery<MemberTeamDto> selectMemberTeamDto() {
+        return sqlQueryFactory
+                .select(MemberTeamDto.projection(
+                        member.memberId,
+                        member.username,
+                        member.age,
+                        team.teamId,
+                        team.name))
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId));
+    }
+
+    private BooleanExpression usernameEq(String usernameCond) {
+        return hasText(usernameCond) ? member.username.eq(usernameCond) : null;
+    }
+
+    private BooleanExpression teamNameEq(String teamNameCond) {
+        return hasText(teamNameCond) ? team.name.eq(teamNameCond) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoeCond) {
+        return ageGoeCond == null ? null : member.age.goe(ageGoeCond);
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoeCond) {
+        return ageLoeCond == null ? null : member.age.loe(ageLoeCond);
+    }
+
+    private BooleanExpression usernameIn(List<String> usernamesCond) {
+        return textIn(member.username, usernamesCond);
+    }
+
+    private BooleanExpression teamNameIn(List<String> teamNamesCond) {
+        return textIn(team.name, teamNamesCond);
+    }
+
+    private BooleanExpression ageRangeIn(List<AgeRange> ageRangesCond) {
+        return SearchConditionSupport.ageRangeIn(member.age, ageRangesCond);
+    }
+
+}
@@ -0,0 +1,307 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.MemberChangedEvent;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static study.querydsl.repository.support.InQuerySupport.DEFAULT_CHUNK_SIZE;
+import static study.querydsl.repository.support.InQuerySupport.paddedChunk;
+
+/**
+ * 비정규화 읽기 모델(member_team_view, MemberTeamView) 관리 - member.read-model.enabled=true 일 때만 사용
+ * - 엔티티 변경(회원 등록/수정/changeTeam/삭제, 팀 이름 변경)은 Hibernate 이벤트로 모아뒀다가
+ *   커밋 직전(마지막 flush 이후) 같은 트랜잭션, 같은 커넥션에서 반영 -> 롤백되면 함께 롤백
+ * - JDBC로 직접 수정하는 경로(대량 등록, upsert, 벌크 연산, write-behind)는 refreshMembers / refreshUsernames 호출
+ * - 애플리케이션 시작 시 전체 재구성(rebuild), check()는 member + team 조인 결과와 비교 (불일치 회원 id 보고)
+ * 같은 트랜잭션 안에서는 커밋 전까지 이전 값이 보이므로 트랜잭션 안의 검색은 조인 쿼리 사용 (MemberSearchService)
+ */
+@Slf4j
+@Component
+public class MemberTeamReadModel implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public static final int MAX_REPORTED_IDS = 100;
+
+    private static final String SELECT_ROWS =
+            "select m.member_id, m.username, m.age, m.team_id, t.name" +
+            " from member m left join team t on t.team_id = m.team_id";
+    private static final String INSERT_ROWS =
+            "insert into member_team_view (member_id, username, age, team_id, team_name) " + SELECT_ROWS;
+
+    private static final Set<String> MEMBER_PROPERTIES = Set.of("username", "age", "team");
+    private static final Set<String> TEAM_PROPERTIES = Set.of("name");
+
+    private final EntityManagerFactory emf;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    @Getter
+    private final boolean enabled;
+
+    private volatile boolean ready;
+    private final Map<Object, Pending> pendingBySession = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public MemberTeamReadModel(EntityManagerFactory emf,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${member.read-model.enabled:false}") boolean enabled) {
+        this.emf = emf;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void register() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    // 리스너 등록 전에 있던 데이터 반영
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            log.info("member read model rebuilt: {} rows", rebuild());
+        }
+    }
+
+    /**
+     * 검색에 사용할 수 있는지 (시작 시 rebuild 완료)
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 읽기 모델 전체 재구성 - 한 트랜잭션에서 전체 삭제 후 member + team 조인 결과로 다시 채움
+     * 재구성 전 읽기 모델로 만든 검색 캐시가 있을 수 있으므로 전체 무효화
+     * @return 재구성된 행 수
+     */
+    public long rebuild() {
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("delete from member_team_view");
+            return jdbcTemplate.update(INSERT_ROWS);
+        });
+        ready = true;
+        eventPublisher.publishEvent(MemberChangedEvent.global());
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * member + team 조인 결과와 비교 - 없는 행(missing), 남은 행(extra), 값이 다른 행(mismatched)
+     * 각각 최대 MAX_REPORTED_IDS 개의 회원 id 보고
+     */
+    public ConsistencyReport check() {
+        return transactionTemplate.execute(status -> new ConsistencyReport(
+                count("select count(*) from member"),
+                count("select count(*) from member_team_view"),
+                ids("select m.member_id from member m" +
+                        " where not exists (select 1 from member_team_view v where v.member_id = m.member_id)"),
+                ids("select v.member_id from member_team_view v" +
+                        " where not exists (select 1 from member m where m.member_id = v.member_id)"),
+                ids("select m.member_id from member m" +
+                        " join member_team_view v on v.member_id = m.member_id" +
+                        " left join team t on t.team_id = m.team_id" +
+                        " where v.username is distinct from m.username" +
+                        " or v.age <> m.age" +
+                        " or v.team_id is distinct from m.team_id" +
+                        " or v.team_name is distinct from t.name")));
+    }
+
+    /**
+     * 회원 id 기준으로 다시 반영 (현재 트랜잭션, JdbcTemplate) - 삭제된 회원은 읽기 모델에서도 삭제
+     */
+    public void refreshMembers(Collection<Long> memberIds) {
+        if (!enabled) {
+            return;
+        }
+        for (List<Long> chunk : paddedChunk(new LinkedHashSet<>(memberIds), DEFAULT_CHUNK_SIZE)) {
+            String in = placeholders(chunk.size());
+            jdbcTemplate.update("delete from member_team_view where member_id in (" + in + ")", chunk.toArray());
+            jdbcTemplate.update(INSERT_ROWS + " where m.member_id in (" + in + ")", chunk.toArray());
+        }
+    }
+
+    /**
+     * username 기준으로 다시 반영 - id를 모르는 JDBC insert(대량 등록, upsert) 이후 호출
+     */
+    public void refreshUsernames(Collection<String> usernames) {
+        if (!enabled) {
+            return;
+        }
+        for (List<String> chunk : paddedChunk(new LinkedHashSet<>(usernames), DEFAULT_CHUNK_SIZE)) {
+            String in = placeholders(chunk.size());
+            jdbcTemplate.update("delete from member_team_view where member_id in" +
+                    " (select member_id from member where username in (" + in + "))", chunk.toArray());
+            jdbcTemplate.update(INSERT_ROWS + " where m.username in (" + in + ")", chunk.toArray());
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            pending(event.getSession()).memberIds.add((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member && changed(event, MEMBER_PROPERTIES)) {
+            pending(event.getSession()).memberIds.add((Long) event.getId());
+        } else if (event.getEntity() instanceof Team && changed(event, TEAM_PROPERTIES)) {
+            pending(event.getSession()).teamIds.add((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            pending(event.getSession()).memberIds.add((Long) event.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private boolean changed(PostUpdateEvent event, Set<String> properties) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return true;
+        }
+        String[] propertyNames = event.getPersister().getPropertyNames();
+        for (int index : dirty) {
+            if (properties.contains(propertyNames[index])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 세션(트랜잭션)별로 모으고, 커밋 직전에 한 번 반영 / 완료(커밋, 롤백) 후 정리
+    private Pending pending(EventSource session) {
+        return pendingBySession.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing -> {
+                Pending pending = pendingBySession.remove(completing);
+                if (pending != null) {
+                    completing.doWork(connection -> apply(connection, pending));
+                }
+            });
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                    pendingBySession.remove(completed));
+            return new Pending();
+        });
+    }
+
+    private void apply(Connection connection, Pending pending) throws SQLException {
+        for (List<Long> chunk : paddedChunk(pending.memberIds, DEFAULT_CHUNK_SIZE)) {
+            String in = placeholders(chunk.size());
+            execute(connection, "delete from member_team_view where member_id in (" + in + ")", chunk);
+            execute(connection, INSERT_ROWS + " where m.member_id in (" + in + ")", chunk);
+        }
+        for (List<Long> chunk : paddedChunk(pending.teamIds, DEFAULT_CHUNK_SIZE)) {
+            execute(connection, "update member_team_view v" +
+                    " set team_name = (select t.name from team t where t.team_id = v.team_id)" +
+                    " where v.team_id in (" + placeholders(chunk.size()) + ")", chunk);
+        }
+    }
+
+    private static void execute(Connection connection, String sql, List<?> params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private List<Long> ids(String sql) {
+        return new ArrayList<>(jdbcTemplate.queryForList(sql + " order by 1 limit " + MAX_REPORTED_IDS, Long.class));
+    }
+
+    private static class Pending {
+        private final Set<Long> memberIds = new LinkedHashSet<>();
+        private final Set<Long> teamIds = new LinkedHashSet<>();
+    }
+
+    @Getter
+    @ToString
+    public static class ConsistencyReport {
+        private final long memberRows;
+        private final long readModelRows;
+        private final List<Long> missing;
+        private final List<Long> extra;
+        private final List<Long> mismatched;
+
+        private ConsistencyReport(long memberRows, long readModelRows,
+                                  List<Long> missing, List<Long> extra, List<Long> mismatched) {
+            this.memberRows = memberRows;
+            this.readModelRows = readModelRows;
+            this.missing = missing;
+            this.extra = extra;
+            this.mismatched = mismatched;
+        }
+
+        public boolean isConsistent() {
+            return memberRows == readModelRows && missing.isEmpty() && extra.isEmpty() && mismatched.isEmpty();
+        }
+    }
+
+}
@@ -7,15 +7,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSearchCond.AgeRange;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.repository.support.Querydsl4RepositorySupport;
+import study.querydsl.repository.support.SearchConditionSupport;
+import study.querydsl.repository.support.SortPolicy;
 
 import java.util.List;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.SearchConditionSupport.textIn;
 
 //@Repository
 public class MemberTestRepository extends Querydsl4RepositorySupport {
@@ -24,6 +28,11 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         super(Member.class);
     }
 
+    @Override
+    protected SortPolicy getSortPolicy() {
+        return MemberSortPolicy.INSTANCE;
+    }
+
     public List<Member> basicSelect() {
         return select(member)
                 .from(member)
@@ -39,11 +48,14 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         JPAQuery<Member> query = selectFrom(member)
                 .leftJoin(member.team, team)
                 .where(usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe()));
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges()));
 
-        List<Member> content = getQuerydsl().applyPagination(pageable, query).fetch();
+        List<Member> content = paginate(pageable, query).fetch();
 
         return PageableExecutionUtils.getPage(content, pageable, query::fetchCount);
     }
@@ -53,9 +65,12 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 .selectFrom(member)
                 .leftJoin(member.team, team)
                 .where(usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe())));
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())));
     }
 
     // MemberRepositoryCustomImpl.searchPageComplex 최적화
@@ -64,18 +79,24 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 .selectFrom(member)
                 .leftJoin(member.team, team)
                 .where(usernameEq(cond.getUsername()),
+                        usernameIn(cond.getUsernames()),
                         teamNameEq(cond.getTeamName()),
+                        teamNameIn(cond.getTeamNames()),
                         ageGoe(cond.getAgeGoe()),
-                        ageLoe(cond.getAgeLoe())
+                        ageLoe(cond.getAgeLoe()),
+                        ageRangeIn(cond.getAgeRanges())
                 ),
                 countQuery -> countQuery // 카운트 쿼리
                         .select(member.id)
                         .from(member)
                         .leftJoin(member.team, team)
                         .where(usernameEq(cond.getUsername()),
+                                usernameIn(cond.getUsernames()),
                                 teamNameEq(cond.getTeamName()),
+                                teamNameIn(cond.getTeamNames()),
                                 ageGoe(cond.getAgeGoe()),
-                                ageLoe(cond.getAgeLoe())
+                                ageLoe(cond.getAgeLoe()),
+                                ageRangeIn(cond.getAgeRanges())
                         )
         );
     }
@@ -96,4 +117,16 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         return ageLoeCond == null ? null : member.age.loe(ageLoeCond);
     }
 
+    private BooleanExpression usernameIn(List<String> usernamesCond) {
+        return textIn(member.username, usernamesCond);
+    }
+
+    private BooleanExpression teamNameIn(List<String> teamNamesCond) {
+        return textIn(team.name, teamNamesCond);
+    }
+
+    private BooleanExpression ageRangeIn(List<AgeRange> ageRangesCond) {
+        return SearchConditionSupport.ageRangeIn(member.age, ageRangesCond);
+    }
+
 }
@@ -0,0 +1,270 @@
+package study.querydsl.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.support.UsernameIndex;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static study.querydsl.repository.support.PersistenceContextSupport.managedEntities;
+
+/**
+ * 회원 username 메모리 인덱스 (UsernameIndex) - 없는 username 조회(가입 가능 여부 확인 등)는 DB까지 가지 않음
+ * - 애플리케이션 시작 후 member 테이블(member_id, username) 전체로 구성, 그 전에는 항상 DB 조회
+ * - 엔티티 insert, username 변경은 flush 시점에 바로 추가 (롤백되어도 false positive일 뿐)
+ * - 삭제, 변경 전 username 제거는 커밋 이후 반영 (먼저 지우면 롤백 시 있는 회원을 없다고 판단)
+ * - JDBC로 직접 insert하는 경로(대량 등록, upsert)는 registerUsernames()로 id 없이 등록
+ * - 아직 flush 안 된 회원(insert 대기, username 변경)은 현재 영속성 컨텍스트에서 확인
+ * member.username-index.enabled=false 면 사용하지 않음
+ */
+@Slf4j
+@Component
+public class MemberUsernameIndex implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory emf;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    private volatile UsernameIndex index = new UsernameIndex(0);
+    private volatile boolean ready;
+    private List<Object[]> addedDuringLoad = new ArrayList<>(); // 구성 중에 추가된 username (username, id), synchronized(this)
+
+    public MemberUsernameIndex(EntityManagerFactory emf,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${member.username-index.enabled:true}") boolean enabled) {
+        this.emf = emf;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void register() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            ready = false;
+            if (addedDuringLoad == null) {
+                addedDuringLoad = new ArrayList<>();
+            }
+        }
+
+        Integer count = jdbcTemplate.queryForObject("select count(*) from member", Integer.class);
+        UsernameIndex loaded = new UsernameIndex(count == null ? 0 : count);
+        jdbcTemplate.query("select member_id, username from member",
+                (RowCallbackHandler) rs -> loaded.add(rs.getString(2), rs.getLong(1)));
+
+        synchronized (this) {
+            for (Object[] added : addedDuringLoad) {
+                loaded.add((String) added[0], (Long) added[1]);
+            }
+            addedDuringLoad = null;
+            index = loaded;
+            ready = true;
+        }
+        log.info("username index loaded: {}", loaded.getStats());
+    }
+
+    /**
+     * @return ABSENT(확실히 없음), AMBIGUOUS(DB 조회 필요), 그 외는 유일한 회원 id
+     */
+    public long lookup(String username) {
+        if (!ready) {
+            return UsernameIndex.AMBIGUOUS;
+        }
+        return lookup(username, pendingUsernames());
+    }
+
+    /**
+     * username 여러 개를 한 번에 판단 (영속성 컨텍스트 확인은 한 번만), null은 제외
+     */
+    public Map<String, Long> lookupAll(Collection<String> usernames) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        Map<String, Long> pending = ready ? pendingUsernames() : Collections.emptyMap();
+        for (String username : usernames) {
+            if (username != null && !result.containsKey(username)) {
+                result.put(username, ready ? lookup(username, pending) : UsernameIndex.AMBIGUOUS);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 인덱스로 먼저 판단하고 필요할 때만 query로 DB 조회
+     * 유일한 회원 id를 알면 id로 조회 후 username이 같은지 확인
+     */
+    public List<Member> findByUsername(EntityManager em, String username, Supplier<List<Member>> query) {
+        long hint = lookup(username);
+        if (hint == UsernameIndex.ABSENT) {
+            return Collections.emptyList();
+        }
+        if (hint != UsernameIndex.AMBIGUOUS) {
+            Member found = em.find(Member.class, hint);
+            if (found != null && username.equals(found.getUsername())) {
+                return Collections.singletonList(found);
+            }
+        }
+        return query.get();
+    }
+
+    /**
+     * JDBC로 직접 insert하는 경로용 - id를 모르므로 AMBIGUOUS로 등록 (조회 시 DB 확인)
+     */
+    public void registerUsernames(Collection<String> usernames) {
+        if (!enabled) {
+            return;
+        }
+        for (String username : usernames) {
+            add(username, UsernameIndex.AMBIGUOUS);
+        }
+    }
+
+    public UsernameIndex.Stats getStats() {
+        return index.getStats();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            add(((Member) event.getEntity()).getUsername(), (Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        Long id = (Long) event.getId();
+        int usernameIndex = Arrays.asList(event.getPersister().getPropertyNames()).indexOf("username");
+        String username = (String) event.getState()[usernameIndex];
+        String oldUsername = event.getOldState() == null ? null : (String) event.getOldState()[usernameIndex];
+
+        if (event.getOldState() == null || !String.valueOf(username).equals(oldUsername)) {
+            add(username, id);
+            if (oldUsername != null) {
+                removeAfterCommit(oldUsername, id);
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            removeAfterCommit(((Member) event.getEntity()).getUsername(), (Long) event.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private synchronized void add(String username, long id) {
+        index.add(username, id);
+        if (addedDuringLoad != null) {
+            addedDuringLoad.add(new Object[]{username, id});
+        }
+    }
+
+    private void removeAfterCommit(String username, long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.remove(username, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.remove(username, id);
+            }
+        });
+    }
+
+    private long lookup(String username, Map<String, Long> pending) {
+        long result = index.lookup(username);
+        Long pendingId = pending.get(username);
+        if (pendingId != null && pendingId != result) {
+            return UsernameIndex.AMBIGUOUS;
+        }
+        return result;
+    }
+
+    /**
+     * 인덱스와 다를 수 있는 회원만 모음 - persist 후 아직 insert 안 된 회원, flush 전에 username을 바꾼 회원
+     * 나머지 영속 회원은 username이 DB(= 인덱스)와 같으므로 비교하지 않음
+     * 같은 username이 둘 이상이면 AMBIGUOUS
+     */
+    private Map<String, Long> pendingUsernames() {
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+        if (em == null) {
+            return Collections.emptyMap();
+        }
+        PersistenceContext persistenceContext = em.unwrap(SessionImplementor.class).getPersistenceContext();
+        Map<String, Long> pending = new HashMap<>();
+        for (Member managed : managedEntities(em, Member.class)) {
+            EntityEntry entry = persistenceContext.getEntry(managed);
+            if (entry == null || managed.getUsername() == null) {
+                continue;
+            }
+            if (!entry.isExistsInDatabase()
+                    || !Objects.equals(entry.getLoadedValue("username"), managed.getUsername())) {
+                long id = managed.getId() == null ? UsernameIndex.AMBIGUOUS : managed.getId();
+                pending.merge(managed.getUsername(), id, (a, b) -> UsernameIndex.AMBIGUOUS);
+            }
+        }
+        return pending;
+    }
+
+}
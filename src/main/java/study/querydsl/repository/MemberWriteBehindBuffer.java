@@ -0,0 +1,312 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.event.MemberChangedEvent;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회원 수정(age, team) write-behind 버퍼 - member.write-behind.enabled=true 일 때만 사용
+ * - 같은 회원의 수정은 하나로 합침 (마지막 값 유지)
+ * - batch-size 이상 쌓이거나 flush-interval-ms 마다 JDBC batch update로 반영
+ * - 반영 전 값은 getPending()으로 조회 가능 (read-through)
+ * - chunk마다 커밋 -> 실패하면 반영되지 않은 수정만 버퍼로 되돌리고, 이미 커밋된 chunk는 변경 이벤트 발행
+ * - 제약 조건 위반(존재하지 않는 팀 등)이 섞인 chunk는 한 건씩 다시 반영해서 해당 수정만 버림 (재시도해도 실패하므로)
+ * - 종료 시 남은 수정 flush
+ * - JPA 변경 감지로 같은 회원의 같은 컬럼을 수정하면 나중에 커밋된 쪽이 남음 (last-writer-wins)
+ */
+@Slf4j
+@Component
+public class MemberWriteBehindBuffer {
+
+    private static final String UPDATE_SQL =
+            "update member set age = coalesce(?, age), team_id = coalesce(?, team_id) where member_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MemberTeamReadModel memberTeamReadModel;
+
+    @Getter
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private volatile Map<Long, PendingUpdate> flushing = Collections.emptyMap();
+    private final Object flushMonitor = new Object();
+    private ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong rejectedRows = new AtomicLong();
+
+    public MemberWriteBehindBuffer(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MemberTeamReadModel memberTeamReadModel,
+                                   @Value("${member.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${member.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${member.write-behind.flush-interval-ms:100}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.memberTeamReadModel = memberTeamReadModel;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "member-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        flush(); // 종료 시 남은 수정 반영
+    }
+
+    public void updateAge(Long memberId, int age) {
+        if (age < 0) {
+            throw new IllegalArgumentException("age는 0 이상이어야 합니다: " + age);
+        }
+        enqueue(memberId, new PendingUpdate(age, null));
+    }
+
+    // 팀 해제(null)는 coalesce로 표현할 수 없으므로 받지 않음
+    public void changeTeam(Long memberId, Long teamId) {
+        if (teamId == null) {
+            throw new IllegalArgumentException("teamId가 비어있습니다");
+        }
+        enqueue(memberId, new PendingUpdate(null, teamId));
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 수정 (flush 중인 값 포함)
+     */
+    public Optional<PendingUpdate> getPending(Long memberId) {
+        PendingUpdate update = pending.get(memberId);
+        PendingUpdate inFlight = flushing.get(memberId);
+        if (update == null) {
+            return Optional.ofNullable(inFlight);
+        }
+        return Optional.of(inFlight == null ? update : inFlight.merge(update));
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getFlushedRowCount() {
+        return flushedRows.get();
+    }
+
+    // 제약 조건 위반으로 버린 수정 수
+    public long getRejectedRowCount() {
+        return rejectedRows.get();
+    }
+
+    /**
+     * 버퍼에 쌓인 수정을 JDBC batch로 반영하고 반영된 회원 수를 반환
+     * 실패하면 반영되지 않은 수정은 버퍼로 되돌리고 예외를 그대로 던짐
+     */
+    public int flush() {
+        synchronized (flushMonitor) {
+            Map<Long, PendingUpdate> snapshot;
+            lock.writeLock().lock();
+            try {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                snapshot = pending;
+                flushing = snapshot;
+                pending = new ConcurrentHashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<Map.Entry<Long, PendingUpdate>> entries = new ArrayList<>(snapshot.entrySet());
+            int written = 0;
+            int done = 0; // entries[0, done)는 커밋되었거나 버린 수정
+            try {
+                while (done < entries.size()) {
+                    List<Map.Entry<Long, PendingUpdate>> batch = entries.subList(done, Math.min(done + batchSize, entries.size()));
+                    try {
+                        write(batch);
+                        written += batch.size();
+                        done += batch.size();
+                    } catch (DataIntegrityViolationException e) {
+                        for (Map.Entry<Long, PendingUpdate> entry : batch) {
+                            try {
+                                write(List.of(entry));
+                                written++;
+                            } catch (DataIntegrityViolationException rejected) {
+                                rejectedRows.incrementAndGet();
+                                log.warn("member write-behind update rejected: memberId={}", entry.getKey(), rejected);
+                            }
+                            done++;
+                        }
+                    }
+                }
+                return written;
+            } catch (RuntimeException e) {
+                restore(entries.subList(done, entries.size()));
+                throw e;
+            } finally {
+                flushing = Collections.emptyMap();
+                flushedRows.addAndGet(written);
+                if (written > 0) {
+                    eventPublisher.publishEvent(MemberChangedEvent.global()); // 이전 팀, 나이를 알 수 없으므로 전체 무효화
+                }
+            }
+        }
+    }
+
+    private void write(List<Map.Entry<Long, PendingUpdate>> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, setter(batch));
+            memberTeamReadModel.refreshMembers(memberIds(batch));
+        });
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("member write-behind flush failed, {} updates will be retried", pending.size(), e);
+        }
+    }
+
+    private void enqueue(Long memberId, PendingUpdate update) {
+        if (!enabled) {
+            throw new IllegalStateException("write-behind가 꺼져 있습니다 (member.write-behind.enabled)");
+        }
+        if (memberId == null) {
+            throw new IllegalArgumentException("memberId가 비어있습니다");
+        }
+        lock.readLock().lock();
+        try {
+            pending.merge(memberId, update, PendingUpdate::merge);
+        } finally {
+            lock.readLock().unlock();
+        }
+        enqueued.incrementAndGet();
+
+        // 이미 요청된 flush가 실행 전이면 다시 요청하지 않음
+        if (pending.size() >= batchSize && scheduler != null && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    // 실패한 수정을 되돌릴 때 그 사이에 들어온 더 최신 값은 유지
+    private void restore(List<Map.Entry<Long, PendingUpdate>> failed) {
+        lock.readLock().lock();
+        try {
+            failed.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), (newer, old) -> old.merge(newer)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> memberIds(List<Map.Entry<Long, PendingUpdate>> batch) {
+        List<Long> memberIds = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, PendingUpdate> entry : batch) {
+            memberIds.add(entry.getKey());
+        }
+        return memberIds;
+    }
+
+    private BatchPreparedStatementSetter setter(List<Map.Entry<Long, PendingUpdate>> batch) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, PendingUpdate> entry = batch.get(i);
+                PendingUpdate update = entry.getValue();
+
+                if (update.getAge() == null) {
+                    ps.setNull(1, Types.INTEGER);
+                } else {
+                    ps.setInt(1, update.getAge());
+                }
+                if (update.getTeamId() == null) {
+                    ps.setNull(2, Types.BIGINT);
+                } else {
+                    ps.setLong(2, update.getTeamId());
+                }
+                ps.setLong(3, entry.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        };
+    }
+
+    @Getter
+    public static class PendingUpdate {
+
+        private final Integer age;
+        private final Long teamId;
+
+        public PendingUpdate(Integer age, Long teamId) {
+            this.age = age;
+            this.teamId = teamId;
+        }
+
+        // newer 값이 있으면 덮어씀
+        public PendingUpdate merge(PendingUpdate newer) {
+            return new PendingUpdate(
+                    newer.age != null ? newer.age : age,
+                    newer.teamId != null ? newer.teamId : teamId);
+        }
+
+    }
+
+}
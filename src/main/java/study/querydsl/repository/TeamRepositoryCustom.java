@@ -0,0 +1,17 @@
+package study.querydsl.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.TeamMembersDto;
+import study.querydsl.dto.TeamSearchCond;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+public interface TeamRepositoryCustom {
+
+    Page<TeamMembersDto> searchTeamWithMembers(TeamSearchCond cond, Pageable pageable, int memberLimit);
+
+    List<Team> preloadMembers(List<Team> teams);
+
+}
@@ -0,0 +1,168 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.TeamMembersDto;
+import study.querydsl.dto.TeamSearchCond;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.SortPolicy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.InQuerySupport.DEFAULT_CHUNK_SIZE;
+import static study.querydsl.repository.support.InQuerySupport.chunk;
+
+/**
+ * 컬렉션 fetch join + 페이징은 Hibernate가 메모리에서 페이징 (HHH000104) -> 사용 X
+ * 1. 팀만 DB에서 페이징
+ * 2. 팀별 회원 수 조회 (group by)
+ * 3. memberLimit 이하인 팀들의 회원은 IN 쿼리로 묶어서 조회, 초과하는 팀은 팀별로 limit 걸어서 조회
+ */
+@RequiredArgsConstructor
+public class TeamRepositoryCustomImpl implements TeamRepositoryCustom {
+
+    public static final int MAX_MEMBER_LIMIT = 1000;
+
+    private static final SortPolicy SORT_POLICY = SortPolicy.builder(team.id)
+            .allow("id", team.id)
+            .allow("teamId", team.id)
+            .build();
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public Page<TeamMembersDto> searchTeamWithMembers(TeamSearchCond cond, Pageable pageable, int memberLimit) {
+        int limit = Math.max(0, Math.min(memberLimit, MAX_MEMBER_LIMIT));
+
+        List<Tuple> teams = queryFactory
+                .select(team.id, team.name)
+                .from(team)
+                .where(teamNameEq(cond.getTeamName()))
+                .orderBy(SORT_POLICY.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        Map<Long, TeamMembersDto> content = new LinkedHashMap<>();
+        for (Tuple tuple : teams) {
+            Long teamId = tuple.get(team.id);
+            content.put(teamId, new TeamMembersDto(teamId, tuple.get(team.name)));
+        }
+
+        if (!content.isEmpty()) {
+            fillMembers(content, limit); // memberLimit=0 이어도 회원 수는 조회
+        }
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(team.count())
+                .from(team)
+                .where(teamNameEq(cond.getTeamName()));
+
+        return PageableExecutionUtils.getPage(new ArrayList<>(content.values()), pageable, countQuery::fetchOne);
+    }
+
+    private void fillMembers(Map<Long, TeamMembersDto> content, int limit) {
+        List<Long> smallTeamIds = new ArrayList<>();
+        List<Long> largeTeamIds = new ArrayList<>();
+
+        for (List<Long> teamIds : chunk(content.keySet(), DEFAULT_CHUNK_SIZE)) {
+            List<Tuple> counts = queryFactory
+                    .select(member.team.id, member.count())
+                    .from(member)
+                    .where(member.team.id.in(teamIds))
+                    .groupBy(member.team.id)
+                    .fetch();
+
+            for (Tuple tuple : counts) {
+                Long teamId = tuple.get(member.team.id);
+                long memberCount = tuple.get(member.count());
+                content.get(teamId).setMemberCount(memberCount);
+                if (memberCount <= limit) {
+                    smallTeamIds.add(teamId);
+                } else {
+                    largeTeamIds.add(teamId);
+                }
+            }
+        }
+
+        if (limit == 0) {
+            return;
+        }
+
+        for (List<Long> teamIds : chunk(smallTeamIds, DEFAULT_CHUNK_SIZE)) {
+            List<MemberTeamDto> members = selectMemberTeamDto()
+                    .where(team.id.in(teamIds))
+                    .orderBy(team.id.asc(), member.id.asc())
+                    .fetch();
+
+            for (MemberTeamDto dto : members) {
+                content.get(dto.getTeamId()).getMembers().add(dto);
+            }
+        }
+
+        // 회원이 많은 팀은 팀별로 limit -> 페이지 크기 이상으로 쿼리가 늘어나지 않음
+        for (Long teamId : largeTeamIds) {
+            List<MemberTeamDto> members = selectMemberTeamDto()
+                    .where(team.id.eq(teamId))
+                    .orderBy(member.id.asc())
+                    .limit(limit)
+                    .fetch();
+
+            content.get(teamId).getMembers().addAll(members);
+        }
+    }
+
+    // 이미 조회한 팀들의 members 컬렉션을 chunk 단위 fetch join으로 초기화 (페이징 없이 id로만 조회하므로 안전)
+    @Override
+    public List<Team> preloadMembers(List<Team> teams) {
+        Set<Long> teamIds = new LinkedHashSet<>();
+        for (Team t : teams) {
+            if (!Hibernate.isInitialized(t.getMembers())) {
+                teamIds.add(t.getId());
+            }
+        }
+
+        for (List<Long> ids : chunk(teamIds, DEFAULT_CHUNK_SIZE)) {
+            queryFactory
+                    .selectFrom(team).distinct()
+                    .leftJoin(team.members).fetchJoin()
+                    .where(team.id.in(ids))
+                    .fetch();
+        }
+        return teams;
+    }
+
+    private JPAQuery<MemberTeamDto> selectMemberTeamDto() {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .join(member.team, team);
+    }
+
+    private BooleanExpression teamNameEq(String teamNameCond) {
+        return hasText(teamNameCond) ? team.name.eq(teamNameCond) : null;
+    }
+
+}
@@ -0,0 +1,169 @@
+package study.querydsl.repository.support;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 단건 조회를 짧은 시간(maxDelayMicros) 또는 maxBatchSize 개 단위로 모아서 한 번에 조회 (micro-batching)
+ * - 같은 key가 여러 번 들어오면 한 번만 조회하고 각 호출에 같은 결과 전달
+ * - 조회 결과에 없는 key는 null, 조회 실패는 해당 배치의 모든 호출에 예외로 전달
+ * - 배치 조회는 workers 개 스레드에서 실행 (호출 스레드는 CompletableFuture로 기다림)
+ * - close() 시 모으는 중인 배치는 바로 조회, 이후 호출은 IllegalStateException으로 실패
+ */
+public class BatchLoader<K, V> implements AutoCloseable {
+
+    private final Function<Set<K>, Map<K, V>> batchFunction;
+    private final int maxBatchSize;
+    private final long maxDelayMicros;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService workers;
+
+    private Batch current; // synchronized(this)
+    private boolean closed; // synchronized(this)
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong loadedKeys = new AtomicLong();
+
+    public BatchLoader(String name, Function<Set<K>, Map<K, V>> batchFunction,
+                       int maxBatchSize, long maxDelayMicros, int workers) {
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMicros = maxDelayMicros;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon(name + "-timer"));
+        this.workers = Executors.newFixedThreadPool(workers, daemon(name + "-worker"));
+    }
+
+    public CompletableFuture<V> load(K key) {
+        requests.incrementAndGet();
+        CompletableFuture<V> future = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("BatchLoader가 종료되었습니다"));
+                return future;
+            }
+            if (current == null) {
+                Batch batch = new Batch();
+                current = batch;
+                scheduler.schedule(() -> dispatchIfCurrent(batch), maxDelayMicros, TimeUnit.MICROSECONDS);
+            }
+            current.add(key, future);
+            if (current.waiters.size() >= maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    public Stats getStats() {
+        return new Stats(batches.get(), requests.get(), loadedKeys.get());
+    }
+
+    @Override
+    public void close() {
+        Batch pending;
+        synchronized (this) {
+            closed = true;
+            pending = current;
+            current = null;
+        }
+        scheduler.shutdownNow(); // 예약된 타이머는 pending을 직접 실행하므로 버려도 됨
+        if (pending != null) {
+            dispatch(pending);
+        }
+        workers.shutdown(); // 이미 넘긴 배치는 끝까지 실행
+    }
+
+    private void dispatchIfCurrent(Batch batch) {
+        synchronized (this) {
+            if (current != batch) {
+                return; // 이미 maxBatchSize로 실행됨
+            }
+            current = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        batches.incrementAndGet();
+        loadedKeys.addAndGet(batch.waiters.size());
+        try {
+            workers.execute(() -> {
+                try {
+                    Map<K, V> result = batchFunction.apply(Collections.unmodifiableSet(batch.waiters.keySet()));
+                    batch.waiters.forEach((key, futures) -> {
+                        V value = result.get(key);
+                        futures.forEach(f -> f.complete(value));
+                    });
+                } catch (RuntimeException | Error e) {
+                    fail(batch, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            fail(batch, e); // close() 이후 - 기다리는 호출이 끝나지 않는 일이 없게
+        }
+    }
+
+    private void fail(Batch batch, Throwable e) {
+        batch.waiters.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private class Batch {
+        private final Map<K, List<CompletableFuture<V>>> waiters = new LinkedHashMap<>();
+
+        void add(K key, CompletableFuture<V> future) {
+            waiters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+        }
+    }
+
+    @Getter
+    @ToString
+    public static class Stats {
+        private final long batches;
+        private final long requests;
+        private final long loadedKeys; // 배치 안에서 중복 제거된 key 수
+
+        private Stats(long batches, long requests, long loadedKeys) {
+            this.batches = batches;
+            this.requests = requests;
+            this.loadedKeys = loadedKeys;
+        }
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0 : (double) loadedKeys / batches;
+        }
+    }
+
+}
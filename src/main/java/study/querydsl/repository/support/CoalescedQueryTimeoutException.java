@@ -0,0 +1,13 @@
+package study.querydsl.repository.support;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CoalescedQueryTimeoutException extends RuntimeException {
+
+    public CoalescedQueryTimeoutException(Object key, long timeoutMillis) {
+        super("같은 조건의 조회 결과를 " + timeoutMillis + "ms 안에 받지 못했습니다: " + key);
+    }
+
+}
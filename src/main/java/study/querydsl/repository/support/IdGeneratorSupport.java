@@ -0,0 +1,37 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * JDBC / native SQL로 직접 insert할 때 엔티티 매핑과 같은 id 시퀀스를 쓰기 위한 유틸
+ * 시퀀스 이름, 다음 값 SQL은 Hibernate 매핑과 Dialect에서 가져옴 (hibernate_sequence 하드코딩 X)
+ */
+public final class IdGeneratorSupport {
+
+    private IdGeneratorSupport() {
+    }
+
+    /**
+     * insert 문의 id 값으로 쓸 SQL 식 (H2: next value for 시퀀스)
+     * SQL이 시퀀스 값을 하나씩 가져가므로 Hibernate가 값을 미리 여러 개 할당하는 경우(allocationSize > 1)는 id가 겹칠 수 있어 허용하지 않음
+     */
+    public static String nextIdSql(EntityManagerFactory emf, Class<?> entityClass) {
+        SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator generator = sessionFactory.getMetamodel().entityPersister(entityClass).getIdentifierGenerator();
+        if (!(generator instanceof SequenceStyleGenerator)) {
+            throw new IllegalStateException(entityClass.getSimpleName() + " id는 시퀀스로 생성해야 합니다: " + generator);
+        }
+
+        SequenceStyleGenerator sequence = (SequenceStyleGenerator) generator;
+        if (!sequence.getDatabaseStructure().isPhysicalSequence() || sequence.getOptimizer().getIncrementSize() != 1) {
+            throw new IllegalStateException(entityClass.getSimpleName() + " id 시퀀스는 DB 시퀀스, allocationSize = 1 이어야 합니다");
+        }
+        return sessionFactory.getJdbcServices().getDialect()
+                .getSelectSequenceNextValString(sequence.getDatabaseStructure().getName());
+    }
+
+}
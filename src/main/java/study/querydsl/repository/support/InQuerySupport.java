@@ -0,0 +1,70 @@
+package study.querydsl.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * IN 절 쿼리 보조 - 값이 많으면 DB 파라미터 제한과 쿼리 크기를 고려해서 나눠서 조회
+ * paddedChunk: IN 절 크기를 2의 거듭제곱으로 맞춰서 (마지막 값 반복) 크기별 쿼리 플랜이 캐시에 쌓이지 않게 함
+ * hibernate.query.in_clause_parameter_padding 대신 직접 채우는 이유
+ * - 같은 조건 helper(SearchConditionSupport)와 chunk 조회를 JPQL과 querydsl-sql/JDBC(MemberSqlRepository, MemberTeamReadModel)가 같이 씀
+ *   Hibernate 설정은 Hibernate가 펼치는 JPQL 파라미터에만 적용되어 SQL 경로의 IN 절 크기는 그대로 늘어남
+ * - Hibernate 설정은 패딩만 할 뿐 나누지 않으므로 DB 파라미터 제한 때문에 chunk는 어차피 필요
+ */
+public final class InQuerySupport {
+
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+
+    private InQuerySupport() {
+    }
+
+    public static <T> List<List<T>> chunk(Collection<T> values, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            chunks.add(list.subList(from, Math.min(from + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * chunkSize 이하의 2의 거듭제곱 크기로 나누고, 각 chunk는 다음 2의 거듭제곱 크기까지 마지막 값으로 채움
+     * 예) chunkSize 100, 값 150개 -> 64, 64, 22(32로 채움) -> IN 절 크기는 1, 2, 4, ..., 64 중 하나
+     */
+    public static <T> List<List<T>> paddedChunk(Collection<T> values, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+
+        List<List<T>> chunks = chunk(values, Integer.highestOneBit(chunkSize));
+        List<List<T>> padded = new ArrayList<>(chunks.size());
+        for (List<T> chunk : chunks) {
+            padded.add(pad(chunk));
+        }
+        return padded;
+    }
+
+    public static <T> List<T> pad(List<T> values) {
+        if (values.isEmpty()) {
+            return values;
+        }
+        int paddedSize = Integer.highestOneBit(values.size() - 1) << 1;
+        if (values.size() == 1 || paddedSize == values.size()) {
+            return values;
+        }
+
+        List<T> padded = new ArrayList<>(paddedSize);
+        padded.addAll(values);
+        T last = values.get(values.size() - 1);
+        while (padded.size() < paddedSize) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+}
@@ -0,0 +1,229 @@
+package study.querydsl.repository.support;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * id 구간 병렬 스캔 - [minId, maxId]를 rangeSize 개씩 나누고 ForkJoinPool(parallelism)에서 구간별로 실행
+ * - 구간마다 새 읽기 전용 트랜잭션(REQUIRES_NEW, readOnly) -> 워커마다 자기 커넥션, 자기 영속성 컨텍스트 (flush 없음)
+ * - 결과 합치기는 사용하는 쪽에 맞게
+ *   reduce: 구간 목록을 반씩 나눠 fork/join, 항상 (앞 구간, 뒤 구간) 순서로 combine -> 집계
+ *   forEachOrdered: id 순서대로 consumer 호출 -> export, 앞 구간을 기다리는 결과만 메모리에 남음
+ *   forEach: 끝난 구간부터 consumer 호출 -> 순서가 필요 없을 때 (느린 구간이 뒤를 막지 않음)
+ * - forEach / forEachOrdered는 동시에 parallelism * 2 개 구간까지만 실행, consumer는 호출 스레드에서 하나씩 실행
+ * - parallelism은 커넥션 풀 크기보다 작게 (다른 요청이 쓸 커넥션을 남겨둠)
+ */
+public class ParallelIdRangeScanner implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final TransactionTemplate readOnly;
+    private final long rangeSize;
+    private final int maxInFlight;
+
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong scannedRanges = new AtomicLong();
+
+    public ParallelIdRangeScanner(String name, PlatformTransactionManager transactionManager,
+                                  int parallelism, long rangeSize) {
+        if (parallelism < 1 || rangeSize < 1) {
+            throw new IllegalArgumentException("parallelism, rangeSize는 1 이상이어야 합니다");
+        }
+        this.pool = new ForkJoinPool(parallelism, workerFactory(name), null, false);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rangeSize = rangeSize;
+        this.maxInFlight = parallelism * 2;
+    }
+
+    /**
+     * minId ~ maxId (양 끝 포함)를 rangeSize 개씩, 비어 있으면(null, min > max) 빈 목록
+     */
+    public List<IdRange> split(Long minId, Long maxId) {
+        if (minId == null || maxId == null || minId > maxId) {
+            return Collections.emptyList();
+        }
+
+        List<IdRange> ranges = new ArrayList<>();
+        long from = minId;
+        while (true) {
+            long to = maxId - from < rangeSize ? maxId : from + rangeSize - 1;
+            ranges.add(new IdRange(from, to));
+            if (to == maxId) {
+                return ranges;
+            }
+            from = to + 1;
+        }
+    }
+
+    /**
+     * 구간별 결과를 id 순서대로 combine (combiner는 결합법칙만 만족하면 됨), 구간이 없으면 identity
+     */
+    public <R> R reduce(List<IdRange> ranges, Function<IdRange, R> scan, BinaryOperator<R> combiner, R identity) {
+        scans.incrementAndGet();
+        if (ranges.isEmpty()) {
+            return identity;
+        }
+        return pool.invoke(new ReduceTask<>(ranges, 0, ranges.size(), scan, combiner));
+    }
+
+    public <R> void forEachOrdered(List<IdRange> ranges, Function<IdRange, R> scan, Consumer<? super R> consumer) {
+        scans.incrementAndGet();
+        Deque<ForkJoinTask<R>> window = new ArrayDeque<>();
+        Iterator<IdRange> remaining = ranges.iterator();
+        try {
+            while (remaining.hasNext() || !window.isEmpty()) {
+                while (remaining.hasNext() && window.size() < maxInFlight) {
+                    IdRange range = remaining.next();
+                    window.add(pool.submit(() -> scanRange(range, scan)));
+                }
+                consumer.accept(window.poll().join()); // 맨 앞 구간이 끝날 때까지 대기, 뒤 구간은 계속 실행
+            }
+        } finally {
+            window.forEach(task -> task.cancel(false)); // 실패했으면 아직 시작하지 않은 구간은 실행하지 않음
+        }
+    }
+
+    public <R> void forEach(List<IdRange> ranges, Function<IdRange, R> scan, Consumer<? super R> consumer) {
+        scans.incrementAndGet();
+        CompletionService<R> completion = new ExecutorCompletionService<>(pool);
+        List<Future<R>> submitted = new ArrayList<>(ranges.size());
+        Iterator<IdRange> remaining = ranges.iterator();
+        int completed = 0;
+        try {
+            while (completed < ranges.size()) {
+                while (remaining.hasNext() && submitted.size() - completed < maxInFlight) {
+                    IdRange range = remaining.next();
+                    submitted.add(completion.submit(() -> scanRange(range, scan)));
+                }
+                R result = completion.take().get();
+                completed++;
+                consumer.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("id 구간 스캔이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            submitted.forEach(future -> future.cancel(false));
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(pool.getParallelism(), rangeSize, scans.get(), scannedRanges.get());
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private <R> R scanRange(IdRange range, Function<IdRange, R> scan) {
+        scannedRanges.incrementAndGet();
+        return readOnly.execute(status -> scan.apply(range));
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory workerFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-" + sequence.incrementAndGet()); // 기본 워커는 daemon
+            return thread;
+        };
+    }
+
+    // 트랜잭션은 구간 하나(leaf)에서만 열림 -> join 중에 다른 작업을 가져와 실행(work stealing)해도 트랜잭션이 섞이지 않음
+    private class ReduceTask<R> extends RecursiveTask<R> {
+
+        private final List<IdRange> ranges;
+        private final int from;
+        private final int to;
+        private final Function<IdRange, R> scan;
+        private final BinaryOperator<R> combiner;
+
+        ReduceTask(List<IdRange> ranges, int from, int to, Function<IdRange, R> scan, BinaryOperator<R> combiner) {
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+            this.scan = scan;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from == 1) {
+                return scanRange(ranges.get(from), scan);
+            }
+            int mid = (from + to) >>> 1;
+            ReduceTask<R> left = new ReduceTask<>(ranges, from, mid, scan, combiner);
+            left.fork();
+            R right = new ReduceTask<>(ranges, mid, to, scan, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+
+    /**
+     * fromId ~ toId (양 끝 포함)
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static class IdRange {
+        private final long fromId;
+        private final long toId;
+    }
+
+    @Getter
+    @ToString
+    public static class Stats {
+        private final int parallelism;
+        private final long rangeSize;
+        private final long scans;
+        private final long scannedRanges;
+
+        private Stats(int parallelism, long rangeSize, long scans, long scannedRanges) {
+            this.parallelism = parallelism;
+            this.rangeSize = rangeSize;
+            this.scans = scans;
+            this.scannedRanges = scannedRanges;
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.engine.spi.SessionImplementor;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벌크 연산 이후 영속성 컨텍스트 전체를 비우지 않고, 영향받은 엔티티만 골라서 갱신/제거하기 위한 유틸
+ */
+public final class PersistenceContextSupport {
+
+    private PersistenceContextSupport() {
+    }
+
+    public static <T> List<T> managedEntities(EntityManager em, Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (Object entity : em.unwrap(SessionImplementor.class).getPersistenceContext().getEntitiesByKey().values()) {
+            if (type.isInstance(entity)) {
+                result.add(type.cast(entity));
+            }
+        }
+        return result;
+    }
+
+}
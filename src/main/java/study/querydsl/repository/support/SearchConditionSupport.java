@@ -0,0 +1,104 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import com.querydsl.core.types.dsl.StringExpression;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSearchCond.AgeRange;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static study.querydsl.repository.support.InQuerySupport.DEFAULT_CHUNK_SIZE;
+import static study.querydsl.repository.support.InQuerySupport.paddedChunk;
+
+/**
+ * 목록 조건(MemberSearchCond.usernames, teamNames, ageRanges)을 인덱스를 탈 수 있는 조건으로 변환 - 조건이 없으면 null
+ * - 값 목록: 1개면 eq, 여러 개면 IN (2의 거듭제곱 크기로 채워서 플랜 캐시 재사용, DEFAULT_CHUNK_SIZE 초과 시 IN 여러 개를 OR)
+ * - 나이 구간: 겹치는 구간을 합친 뒤 하나면 between, 여러 개인데 전체 나이 수가 AGE_IN_LIST_MAX 이하면 age IN (...)
+ *   (H2는 같은 컬럼의 범위 OR 조건에 인덱스를 쓰지 못하지만 IN 목록은 인덱스 lookup), 그 외에는 구간별 조건 OR
+ */
+public final class SearchConditionSupport {
+
+    public static final int AGE_IN_LIST_MAX = 64;
+
+    private SearchConditionSupport() {
+    }
+
+    public static BooleanExpression textIn(StringExpression path, Collection<String> values) {
+        return valueIn(path, MemberSearchCond.texts(values));
+    }
+
+    public static <T> BooleanExpression valueIn(SimpleExpression<T> path, List<T> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        if (values.size() == 1) {
+            return path.eq(values.get(0));
+        }
+
+        BooleanExpression result = null;
+        for (List<T> chunk : paddedChunk(values, DEFAULT_CHUNK_SIZE)) {
+            BooleanExpression in = path.in(chunk);
+            result = result == null ? in : result.or(in);
+        }
+        return result;
+    }
+
+    public static BooleanExpression ageRangeIn(NumberExpression<Integer> age, Collection<AgeRange> ranges) {
+        List<AgeRange> merged = AgeRange.merge(ranges);
+        if (merged == null) {
+            return null;
+        }
+        if (merged.size() == 1) {
+            return range(age, merged.get(0));
+        }
+
+        List<Integer> ages = enumerate(merged);
+        if (ages != null) {
+            return valueIn(age, ages);
+        }
+
+        BooleanExpression result = null;
+        for (AgeRange range : merged) {
+            result = result == null ? range(age, range) : result.or(range(age, range));
+        }
+        return result;
+    }
+
+    private static BooleanExpression range(NumberExpression<Integer> age, AgeRange range) {
+        if (range.getGoe() == null) {
+            return age.loe(range.getLoe());
+        }
+        if (range.getLoe() == null) {
+            return age.goe(range.getGoe());
+        }
+        return range.getGoe().equals(range.getLoe()) ? age.eq(range.getGoe()) : age.between(range.getGoe(), range.getLoe());
+    }
+
+    // 합친 구간(정렬, 겹치지 않음)의 모든 나이, 열린 구간이 있거나 AGE_IN_LIST_MAX 개를 넘으면 null
+    private static List<Integer> enumerate(List<AgeRange> merged) {
+        if (merged.get(0).getGoe() == null || merged.get(merged.size() - 1).getLoe() == null) {
+            return null;
+        }
+
+        long count = 0;
+        for (AgeRange range : merged) {
+            count += (long) range.getLoe() - range.getGoe() + 1;
+        }
+        if (count > AGE_IN_LIST_MAX) {
+            return null;
+        }
+
+        List<Integer> ages = new ArrayList<>((int) count);
+        for (AgeRange range : merged) {
+            for (long age = range.getGoe(); age <= range.getLoe(); age++) {
+                ages.add((int) age);
+            }
+        }
+        return ages;
+    }
+
+}
@@ -0,0 +1,105 @@
+package study.querydsl.repository.support;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key로 동시에 들어온 조회를 한 번만 실행하고 결과를 공유 (single-flight)
+ * - 처음 들어온 호출(leader)이 자기 스레드에서 실행, 나머지는 timeout까지 결과를 기다림
+ * - 실행 중 예외는 기다리던 호출 모두에 같은 예외로 전달
+ * - 실행이 끝나면 key를 제거하므로 결과를 캐싱하지 않음 (이후 호출은 새로 실행)
+ * - forgetAll(): 데이터 변경 후 들어온 호출이 변경 전에 시작된 실행 결과를 받지 않도록 진행 중인 key를 분리
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public SingleFlight(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return await(key, running);
+        }
+
+        executions.incrementAndGet();
+        try {
+            V result = loader.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            failures.incrementAndGet();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public Stats getStats() {
+        return new Stats(executions.get(), coalesced.get(), timeouts.get(), failures.get(), inFlight.size());
+    }
+
+    private V await(K key, CompletableFuture<V> running) {
+        try {
+            return running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            throw new CoalescedQueryTimeoutException(key, timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Getter
+    @ToString
+    public static class Stats {
+        private final long executions;
+        private final long coalesced; // 다른 호출의 실행 결과를 받은 수
+        private final long timeouts;
+        private final long failures;
+        private final int inFlight;
+
+        private Stats(long executions, long coalesced, long timeouts, long failures, int inFlight) {
+            this.executions = executions;
+            this.coalesced = coalesced;
+            this.timeouts = timeouts;
+            this.failures = failures;
+            this.inFlight = inFlight;
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pageable의 Sort를 허용된 정렬 키(인덱스가 있는 컬럼)로만 변환하는 정책
+ * - 허용되지 않은 키는 거부(REJECT)하거나 무시(IGNORE)
+ * - 마지막에 항상 유니크한 tie-breaker(id)를 붙여서 키셋 페이징과 호환되는 정렬을 보장
+ */
+public class SortPolicy {
+
+    public enum Violation {
+        REJECT, IGNORE
+    }
+
+    private final Map<String, ComparableExpressionBase<?>> sortKeys;
+    private final ComparableExpressionBase<?> tieBreaker;
+    private final Violation violation;
+    private final int maxKeys;
+
+    private SortPolicy(Builder builder) {
+        this.sortKeys = Collections.unmodifiableMap(new LinkedHashMap<>(builder.sortKeys));
+        this.tieBreaker = builder.tieBreaker;
+        this.violation = builder.violation;
+        this.maxKeys = builder.maxKeys;
+    }
+
+    public static Builder builder(ComparableExpressionBase<?> tieBreaker) {
+        return new Builder(tieBreaker);
+    }
+
+    public Set<String> getSortKeys() {
+        return sortKeys.keySet();
+    }
+
+    public OrderSpecifier<?>[] toOrderSpecifiers(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        Set<ComparableExpressionBase<?>> used = new LinkedHashSet<>();
+        int keys = 0; // tie-breaker를 제외한 정렬 키 수
+        boolean tieBreakerAdded = false;
+        Order lastDirection = Order.ASC;
+
+        for (Sort.Order sortOrder : sort) {
+            ComparableExpressionBase<?> expr = sortKeys.get(sortOrder.getProperty());
+            if (expr == null) {
+                if (violation == Violation.REJECT) {
+                    throw new UnsupportedSortException(sortOrder.getProperty(), sortKeys.keySet());
+                }
+                continue;
+            }
+            if (!used.add(expr)) {
+                continue; // 같은 컬럼 중복 정렬 제거
+            }
+            if (expr.equals(tieBreaker)) {
+                // 유니크한 키이므로 이후 정렬 키는 순서에 영향 없음
+                orders.add(sortOrder.isAscending() ? expr.asc() : expr.desc());
+                tieBreakerAdded = true;
+                break;
+            }
+            if (++keys > maxKeys) {
+                if (violation == Violation.REJECT) {
+                    throw new UnsupportedSortException(sortOrder.getProperty(), sortKeys.keySet());
+                }
+                break;
+            }
+
+            orders.add(sortOrder.isAscending() ? expr.asc() : expr.desc());
+            lastDirection = sortOrder.isAscending() ? Order.ASC : Order.DESC;
+        }
+
+        // tie-breaker는 마지막 정렬 방향을 따라감 -> (age desc, id desc) 처럼 인덱스 순서 그대로 읽을 수 있음
+        if (!tieBreakerAdded) {
+            orders.add(lastDirection == Order.ASC ? tieBreaker.asc() : tieBreaker.desc());
+        }
+
+        return orders.toArray(new OrderSpecifier[0]);
+    }
+
+    public static class Builder {
+
+        private final Map<String, ComparableExpressionBase<?>> sortKeys = new LinkedHashMap<>();
+        private final ComparableExpressionBase<?> tieBreaker;
+        private Violation violation = Violation.REJECT;
+        private int maxKeys = 1;
+
+        private Builder(ComparableExpressionBase<?> tieBreaker) {
+            this.tieBreaker = tieBreaker;
+        }
+
+        public Builder allow(String key, ComparableExpressionBase<?> expr) {
+            sortKeys.put(key, expr);
+            return this;
+        }
+
+        public Builder onViolation(Violation violation) {
+            this.violation = violation;
+            return this;
+        }
+
+        /** 인덱스 하나로 처리할 수 있도록 tie-breaker를 제외한 정렬 키 개수 제한 */
+        public Builder maxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+            return this;
+        }
+
+        public SortPolicy build() {
+            return new SortPolicy(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,15 @@
+package study.querydsl.repository.support;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Collection;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedFieldException extends RuntimeException {
+
+    public UnsupportedFieldException(String field, Collection<String> allowed) {
+        super("선택할 수 없는 필드입니다: " + field + " (허용: " + allowed + ")");
+    }
+
+}
@@ -0,0 +1,15 @@
+package study.querydsl.repository.support;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Set;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedSortException extends RuntimeException {
+
+    public UnsupportedSortException(String property, Set<String> allowed) {
+        super("정렬할 수 없는 속성입니다: " + property + " (허용: " + allowed + ")");
+    }
+
+}
@@ -0,0 +1,308 @@
+package study.querydsl.repository.support;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * username -> member id 메모리 인덱스 (DB에 없는 username을 조회 없이 판단하기 위한 용도)
+ * - username 64bit 해시 -> member id, open addressing(linear probing) long 배열 맵 (박싱, Entry 객체 없음)
+ * - Bloom filter (double hashing, 원소당 약 10bit, 해시 7개, false positive 약 1%)로 없는 username은 맵 탐색도 생략
+ * - 해시 충돌, 같은 username 회원이 여러 명, id를 모르는 경우는 AMBIGUOUS -> 호출하는 쪽에서 DB 조회
+ * - Bloom filter는 삭제가 안 되므로 삭제된 username 비트는 남아 있다가 (false positive만 늘어남) 재구성 시 정리
+ * 쓰기는 write lock, 읽기는 optimistic read (충돌 시에만 read lock)
+ */
+public class UsernameIndex {
+
+    public static final long ABSENT = 0L; // member_id는 hibernate_sequence(1부터)로 생성되므로 0은 사용되지 않음
+    public static final long AMBIGUOUS = -1L;
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_TABLE_SIZE = 16;
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final int BLOOM_HASHES = 7;
+
+    private final StampedLock lock = new StampedLock();
+    private final ToLongFunction<String> hasher;
+
+    private long[] keys;
+    private long[] ids;
+    private long[] bloom;
+    private int size;
+    private int bloomEntries; // Bloom filter에 넣은 수 (삭제된 것 포함)
+
+    public UsernameIndex(int expectedSize) {
+        this(expectedSize, UsernameIndex::hash);
+    }
+
+    // 테스트에서 해시 충돌, 슬롯 위치를 직접 만들기 위한 용도
+    UsernameIndex(int expectedSize, ToLongFunction<String> hasher) {
+        this.hasher = hasher;
+        allocate(expectedSize);
+    }
+
+    /**
+     * id를 모르면 (JDBC로 직접 insert 등) AMBIGUOUS로 등록
+     */
+    public void add(String username, long id) {
+        if (username == null) {
+            return;
+        }
+        long hash = hashOf(username);
+        long stamp = lock.writeLock();
+        try {
+            if (size + 1 > keys.length / 2) {
+                rehash(keys.length);
+            }
+            int slot = slotOf(keys, hash);
+            if (keys[slot] == hash) {
+                if (ids[slot] != id) {
+                    ids[slot] = AMBIGUOUS;
+                }
+                return;
+            }
+            keys[slot] = hash;
+            ids[slot] = id;
+            size++;
+            setBloom(bloom, hash);
+            bloomEntries++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 해당 id로 등록된 경우만 제거 (AMBIGUOUS는 다른 회원이 남아 있을 수 있으므로 유지)
+     */
+    public void remove(String username, long id) {
+        if (username == null) {
+            return;
+        }
+        long hash = hashOf(username);
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(keys, hash);
+            if (keys[slot] != hash || ids[slot] != id) {
+                return;
+            }
+            deleteSlot(slot);
+            size--;
+            // 삭제가 쌓여 Bloom filter가 부정확해지면 남은 키로 다시 구성
+            if (bloomEntries > 2 * size + MIN_TABLE_SIZE) {
+                rehash(size);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return ABSENT(확실히 없음), AMBIGUOUS(DB 조회 필요), 그 외는 유일한 회원 id
+     */
+    public long lookup(String username) {
+        if (username == null) {
+            return ABSENT;
+        }
+        long hash = hashOf(username);
+        long stamp = lock.tryOptimisticRead();
+        long result = lookup(hash);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                result = lookup(hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    public boolean mightContain(String username) {
+        return lookup(username) != ABSENT;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Stats getStats() {
+        long stamp = lock.readLock();
+        try {
+            return new Stats(size, keys.length, bloom.length * 64L, BLOOM_HASHES,
+                    falsePositiveRate(), (keys.length + ids.length + bloom.length) * 8L);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long lookup(long hash) {
+        long[] keys = this.keys;
+        long[] ids = this.ids;
+        long[] bloom = this.bloom;
+        if (keys.length != ids.length || !bloomContains(bloom, hash)) {
+            return ABSENT;
+        }
+
+        int mask = keys.length - 1;
+        int slot = home(hash, mask);
+        for (int probe = 0; probe < keys.length; probe++) {
+            long key = keys[slot];
+            if (key == EMPTY) {
+                return ABSENT;
+            }
+            if (key == hash) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    private void allocate(int expectedSize) {
+        int tableSize = tableSizeFor(expectedSize * 2L);
+        keys = new long[tableSize];
+        ids = new long[tableSize];
+        bloom = new long[tableSizeFor(Math.max(64L, (long) expectedSize * BLOOM_BITS_PER_ENTRY)) / 64];
+        size = 0;
+        bloomEntries = 0;
+    }
+
+    private void rehash(int expectedSize) {
+        long[] oldKeys = keys;
+        long[] oldIds = ids;
+        allocate(expectedSize);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                ids[slot] = oldIds[i];
+                size++;
+                setBloom(bloom, oldKeys[i]);
+                bloomEntries++;
+            }
+        }
+    }
+
+    // linear probing 삭제 - tombstone 대신 뒤에 있는 키를 앞으로 당김 (backward shift)
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            long key = keys[next];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = home(key, mask);
+            boolean movable = hole <= next
+                    ? home <= hole || home > next
+                    : home <= hole && home > next;
+            if (movable) {
+                keys[hole] = key;
+                ids[hole] = ids[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        ids[hole] = ABSENT;
+    }
+
+    private static int slotOf(long[] keys, long hash) {
+        int mask = keys.length - 1;
+        int slot = home(hash, mask);
+        while (keys[slot] != EMPTY && keys[slot] != hash) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int home(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static void setBloom(long[] bloom, long hash) {
+        long bitMask = bloom.length * 64L - 1;
+        long h2 = Long.rotateLeft(hash, 32) | 1L;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (hash + i * h2) & bitMask;
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private static boolean bloomContains(long[] bloom, long hash) {
+        long bitMask = bloom.length * 64L - 1;
+        long h2 = Long.rotateLeft(hash, 32) | 1L;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (hash + i * h2) & bitMask;
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double falsePositiveRate() {
+        double bits = bloom.length * 64.0;
+        return Math.pow(1 - Math.exp(-BLOOM_HASHES * bloomEntries / bits), BLOOM_HASHES);
+    }
+
+    private static int tableSizeFor(long minSize) {
+        long size = MIN_TABLE_SIZE;
+        while (size < minSize) {
+            size <<= 1;
+        }
+        if (size > (1 << 30)) {
+            throw new IllegalArgumentException("username index too large: " + minSize);
+        }
+        return (int) size;
+    }
+
+    private long hashOf(String username) {
+        long hash = hasher.applyAsLong(username);
+        return hash == EMPTY ? 1L : hash;
+    }
+
+    // FNV-1a 64bit + murmur3 fmix64, 0은 빈 슬롯 표시로 사용하므로 제외
+    static long hash(String username) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < username.length(); i++) {
+            h ^= username.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1L : h;
+    }
+
+    @Getter
+    @ToString
+    public static class Stats {
+        private final int size;
+        private final int tableCapacity;
+        private final long bloomBits;
+        private final int bloomHashes;
+        private final double expectedFalsePositiveRate;
+        private final long memoryBytes;
+
+        private Stats(int size, int tableCapacity, long bloomBits, int bloomHashes,
+                      double expectedFalsePositiveRate, long memoryBytes) {
+            this.size = size;
+            this.tableCapacity = tableCapacity;
+            this.bloomBits = bloomBits;
+            this.bloomHashes = bloomHashes;
+            this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+            this.memoryBytes = memoryBytes;
+        }
+
+        public double getBytesPerEntry() {
+            return size == 0 ? 0 : (double) memoryBytes / size;
+        }
+    }
+
+}
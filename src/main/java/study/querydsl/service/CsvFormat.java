@@ -0,0 +1,80 @@
+package study.querydsl.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원 CSV(username,age,teamName) 읽기/쓰기 - MemberImportService, MemberExportService 공용 (RFC 4180)
+ * - 쉼표, 따옴표, 줄바꿈이 들어간 값은 큰따옴표로 감싸고 값 안의 따옴표는 "" 로 씀
+ * - 따옴표 안의 줄바꿈 때문에 한 레코드가 여러 줄일 수 있음 (isComplete로 확인 후 다음 줄을 이어 붙임)
+ */
+final class CsvFormat {
+
+    private CsvFormat() {
+    }
+
+    static StringBuilder appendValue(StringBuilder line, String value) {
+        if (value == null || value.isEmpty()) {
+            return line;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * 따옴표가 모두 닫혔는지 (닫히지 않았으면 값 안의 줄바꿈 -> 다음 줄까지 한 레코드)
+     */
+    static boolean isComplete(String record) {
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quoted = !quoted; // "" 는 두 번 바뀌므로 그대로
+            }
+        }
+        return !quoted;
+    }
+
+    static List<String> parse(String record) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+                wasQuoted = false;
+            } else if (c == '"') {
+                if (wasQuoted || value.length() > 0) {
+                    throw new IllegalArgumentException("따옴표 위치가 올바르지 않습니다: " + (i + 1) + "번째 문자");
+                }
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                if (wasQuoted) {
+                    throw new IllegalArgumentException("닫는 따옴표 뒤에 값이 있습니다: " + (i + 1) + "번째 문자");
+                }
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("따옴표가 닫히지 않았습니다");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+}
@@ -0,0 +1,111 @@
+package study.querydsl.service;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.event.MemberChangedEvent;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 회원 데이터 버전 (ETag 용) - 커밋된 MemberChangedEvent마다 증가
+ * - 팀별 버전: 변경 전/후 팀 (팀 없는 회원은 NO_TEAM)
+ * - total: 모든 변경, epoch: 영향 범위를 알 수 없는 변경(global: 대량 등록, 벌크 연산, 팀 생성/수정/삭제)
+ * - teamName -> 팀 id는 epoch가 바뀌기 전까지 캐싱 (팀 이름/구성 변경은 global 이벤트)
+ * - 카운터는 메모리에만 있으므로 재시작하면 0부터, 인스턴스마다 다름 -> 버전 앞에 인스턴스(기동)별 임의 값을 붙여서
+ *   재시작 전/다른 인스턴스에서 받은 ETag가 우연히 같은 버전으로 맞아 떨어지지 않게 함 (다른 인스턴스 ETag는 항상 200)
+ * version(cond)는 조회 전에 읽어야 함 (조회 후에 읽으면 이전 데이터에 새 버전이 붙을 수 있음)
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberDataVersion {
+
+    private static final long NO_TEAM = 0L;
+
+    private final JPAQueryFactory queryFactory;
+
+    private final String instanceId = Long.toHexString(new SecureRandom().nextLong());
+    private final Map<Long, AtomicLong> teamVersions = new ConcurrentHashMap<>();
+    private final Map<String, CachedTeamIds> teamIdsByName = new ConcurrentHashMap<>();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong epoch = new AtomicLong();
+
+    /**
+     * 조건(정규화된 MemberSearchCond)에 해당하는 데이터의 버전 - 팀 조건(teamName, 없으면 teamNames)이 있으면 해당 팀들만, 없으면 전체
+     */
+    public String version(MemberSearchCond cond) {
+        List<String> teamNames = cond.getTeamName() != null ? List.of(cond.getTeamName()) : cond.getTeamNames();
+        if (teamNames == null) {
+            return instanceId + "." + epoch.get() + "." + total.get();
+        }
+
+        long currentEpoch = epoch.get();
+        StringBuilder version = new StringBuilder(instanceId).append('.').append(currentEpoch);
+        for (String teamName : teamNames) {
+            for (Long teamId : teamIds(teamName, currentEpoch)) {
+                version.append('.').append(teamVersion(teamId));
+            }
+        }
+        return version.toString();
+    }
+
+    @Order(MemberChangedEvent.VERSION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.isGlobal()) {
+            epoch.incrementAndGet();
+            teamIdsByName.clear();
+        } else {
+            for (Long teamId : event.getTeamIds()) {
+                teamVersions.computeIfAbsent(teamId == null ? NO_TEAM : teamId, id -> new AtomicLong()).incrementAndGet();
+            }
+        }
+        total.incrementAndGet();
+    }
+
+    private long teamVersion(Long teamId) {
+        AtomicLong version = teamVersions.get(teamId);
+        return version == null ? 0 : version.get();
+    }
+
+    // 같은 epoch 안에서 조회한 값만 사용
+    private List<Long> teamIds(String teamName, long currentEpoch) {
+        CachedTeamIds cached = teamIdsByName.get(teamName);
+        if (cached != null && cached.epoch == currentEpoch) {
+            return cached.teamIds;
+        }
+
+        List<Long> teamIds = Collections.unmodifiableList(new ArrayList<>(queryFactory
+                .select(team.id)
+                .from(team)
+                .where(team.name.eq(teamName))
+                .orderBy(team.id.asc())
+                .fetch()));
+        if (epoch.get() == currentEpoch) {
+            teamIdsByName.put(teamName, new CachedTeamIds(currentEpoch, teamIds));
+        }
+        return teamIds;
+    }
+
+    private static class CachedTeamIds {
+        private final long epoch;
+        private final List<Long> teamIds;
+
+        private CachedTeamIds(long epoch, List<Long> teamIds) {
+            this.epoch = epoch;
+            this.teamIds = teamIds;
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package study.querydsl.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import study.querydsl.repository.MemberIdRangeScanner;
+import study.querydsl.repository.support.ParallelIdRangeScanner.IdRange;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 회원 CSV 내보내기 (username,age,teamName) - MemberImportService와 같은 형식(CsvFormat)이라 그대로 다시 등록 가능
+ * - member_id 구간별로 병렬 조회(MemberIdRangeScanner), 구간 결과는 CSV 텍스트로 만들어 두고 호출 스레드가 출력
+ * - ordered=true면 member_id 순서, false면 먼저 끝난 구간부터 (구간 안에서는 member_id 순서)
+ * - 메모리에는 진행 중인 구간의 텍스트만 남음 (전체 목록을 만들지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    private static final String HEADER = "username,age,teamName";
+    private static final String RANGE_SQL = "select m.username, m.age, t.name from member m"
+            + " left join team t on t.team_id = m.team_id"
+            + " where m.member_id between ? and ? order by m.member_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MemberIdRangeScanner memberIdRangeScanner;
+
+    /**
+     * @return 내보낸 회원 수 (out은 닫지 않음)
+     */
+    public long exportCsv(OutputStream out, boolean ordered) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long[] rows = new long[1]; // consumer는 호출 스레드에서만 실행
+
+        Consumer<Chunk> write = chunk -> {
+            write(writer, chunk.text);
+            rows[0] += chunk.rows;
+        };
+
+        write(writer, HEADER + "\n");
+        if (ordered) {
+            memberIdRangeScanner.forEachOrdered(this::readRange, write);
+        } else {
+            memberIdRangeScanner.forEach(this::readRange, write);
+        }
+
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows[0];
+    }
+
+    // 워커 스레드의 읽기 전용 트랜잭션 안에서 실행
+    private Chunk readRange(IdRange range) {
+        StringBuilder text = new StringBuilder();
+        int[] rows = new int[1];
+        jdbcTemplate.query(RANGE_SQL, (RowCallbackHandler) rs -> {
+            CsvFormat.appendValue(text, rs.getString(1)).append(',').append(rs.getInt(2)).append(',');
+            CsvFormat.appendValue(text, rs.getString(3)).append('\n');
+            rows[0]++;
+        }, range.getFromId(), range.getToId());
+        return new Chunk(text.toString(), rows[0]);
+    }
+
+    private static void write(Writer writer, String text) {
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Chunk {
+        private final String text;
+        private final int rows;
+    }
+
+}
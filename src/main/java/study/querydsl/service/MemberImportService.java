@@ -0,0 +1,222 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberImportResult;
+import study.querydsl.dto.MemberImportResult.ChunkError;
+import study.querydsl.entity.Member;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.repository.MemberTeamReadModel;
+import study.querydsl.repository.MemberUsernameIndex;
+import study.querydsl.repository.support.IdGeneratorSupport;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 CSV 대량 등록 (username,age,teamName) - 쉼표, 따옴표가 들어간 값은 큰따옴표로 감쌈 (CsvFormat)
+ * - 한 줄씩 읽어서 검증 후 chunk-size 단위로 워커에게 전달 -> 파일 전체를 메모리에 올리지 않음
+ * - 워커는 chunk마다 JDBC batch insert + 커밋, 실패한 chunk는 에러로 보고하고 계속 진행
+ * - 팀 이름 -> id는 시작 시 한 번 조회해서 캐싱
+ * - 워커 큐가 가득 차면 읽는 쪽이 직접 처리(CallerRunsPolicy) -> 메모리 사용량 제한
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+
+    public static final int MAX_REPORTED_ERRORS = 100;
+    private static final String HEADER = "username,age,teamName";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MemberUsernameIndex memberUsernameIndex;
+    private final MemberTeamReadModel memberTeamReadModel;
+    private final String insertSql;
+    private final int chunkSize;
+    private final int workers;
+
+    public MemberImportService(JdbcTemplate jdbcTemplate,
+                               EntityManagerFactory emf,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               MemberUsernameIndex memberUsernameIndex,
+                               MemberTeamReadModel memberTeamReadModel,
+                               @Value("${member.import.chunk-size:5000}") int chunkSize,
+                               @Value("${member.import.workers:4}") int workers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.memberUsernameIndex = memberUsernameIndex;
+        this.memberTeamReadModel = memberTeamReadModel;
+        // id는 Member 매핑과 같은 시퀀스에서
+        this.insertSql = "insert into member (member_id, username, username_lower, age, team_id) values ("
+                + IdGeneratorSupport.nextIdSql(emf, Member.class) + ", ?, ?, ?, ?)";
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+    }
+
+    public MemberImportResult importCsv(InputStream in) {
+        long start = System.currentTimeMillis();
+        Map<String, Long> teamIds = loadTeamIds();
+
+        AtomicLong inserted = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<ChunkError> errors = Collections.synchronizedList(new ArrayList<>());
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        long lineNumber = 0;
+        int chunkIndex = 0;
+        List<Object[]> rows = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.trim().equalsIgnoreCase(HEADER))) {
+                    continue;
+                }
+
+                // 따옴표 안의 줄바꿈 -> 다음 줄까지 한 레코드 (오류는 레코드 시작 줄로 보고)
+                long recordLineNumber = lineNumber;
+                String next;
+                while (!CsvFormat.isComplete(line) && (next = reader.readLine()) != null) {
+                    lineNumber++;
+                    line = line + "\n" + next;
+                }
+
+                try {
+                    rows.add(parse(line, teamIds));
+                } catch (IllegalArgumentException e) {
+                    failed.incrementAndGet();
+                    addError(errors, new ChunkError(chunkIndex, recordLineNumber, e.getMessage()));
+                }
+
+                if (rows.size() == chunkSize) {
+                    submit(executor, chunkIndex++, rows, inserted, failed, errors);
+                    rows = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!rows.isEmpty()) {
+                submit(executor, chunkIndex, rows, inserted, failed, errors);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+
+        if (inserted.get() > 0) {
+            eventPublisher.publishEvent(MemberChangedEvent.global());
+        }
+
+        long total = inserted.get() + failed.get();
+        return new MemberImportResult(total, inserted.get(), failed.get(),
+                System.currentTimeMillis() - start, new ArrayList<>(errors));
+    }
+
+    private void submit(ThreadPoolExecutor executor, int chunk, List<Object[]> rows,
+                        AtomicLong inserted, AtomicLong failed, List<ChunkError> errors) {
+        executor.execute(() -> {
+            try {
+                memberUsernameIndex.registerUsernames(usernames(rows)); // insert 전에 등록 (실패해도 false positive일 뿐)
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(insertSql, rows);
+                    memberTeamReadModel.refreshUsernames(usernames(rows)); // 같은 트랜잭션에서 읽기 모델 반영
+                });
+                inserted.addAndGet(rows.size());
+            } catch (RuntimeException e) {
+                log.warn("member import chunk {} failed", chunk, e);
+                failed.addAndGet(rows.size());
+                addError(errors, new ChunkError(chunk, 0, e.getMessage()));
+            }
+        });
+    }
+
+    private List<String> usernames(List<Object[]> rows) {
+        List<String> usernames = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            usernames.add((String) row[0]);
+        }
+        return usernames;
+    }
+
+    private Object[] parse(String line, Map<String, Long> teamIds) {
+        List<String> columns = CsvFormat.parse(line);
+        if (columns.size() != 3) {
+            throw new IllegalArgumentException("컬럼 수가 올바르지 않습니다: " + columns.size());
+        }
+
+        String username = columns.get(0).trim();
+        if (username.isEmpty()) {
+            throw new IllegalArgumentException("username이 비어있습니다");
+        }
+
+        int age;
+        try {
+            age = Integer.parseInt(columns.get(1).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("age가 숫자가 아닙니다: " + columns.get(1));
+        }
+        if (age < 0) {
+            throw new IllegalArgumentException("age는 0 이상이어야 합니다: " + age);
+        }
+
+        String teamName = columns.get(2).trim();
+        Long teamId = null;
+        if (!teamName.isEmpty()) {
+            teamId = teamIds.get(teamName);
+            if (teamId == null) {
+                throw new IllegalArgumentException("존재하지 않는 팀입니다: " + teamName);
+            }
+        }
+
+        return new Object[]{username, Member.normalizeUsername(username), age, teamId};
+    }
+
+    private Map<String, Long> loadTeamIds() {
+        Map<String, Long> teamIds = new ConcurrentHashMap<>();
+        jdbcTemplate.query("select team_id, name from team",
+                (RowCallbackHandler) rs -> teamIds.put(rs.getString("name"), rs.getLong("team_id")));
+        return teamIds;
+    }
+
+    private void addError(List<ChunkError> errors, ChunkError error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    private void awaitTermination(ThreadPoolExecutor executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+}
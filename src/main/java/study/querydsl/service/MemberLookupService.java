@@ -0,0 +1,46 @@
+package study.querydsl.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.support.BatchLoader;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 회원 단건 조회 (id) - 다른 서비스에서 매우 자주 호출되므로 micro-batching
+ * member.loader.max-delay-micros(기본 1000) 동안 또는 max-batch-size(기본 64) 개까지 모아서
+ * where member.id in (...) 한 번으로 조회 (팀 포함), 각 호출은 자기 결과만 받음
+ */
+@Service
+public class MemberLookupService {
+
+    private final BatchLoader<Long, MemberTeamDto> loader;
+
+    public MemberLookupService(MemberJpaRepository memberJpaRepository,
+                               @Value("${member.loader.max-batch-size:64}") int maxBatchSize,
+                               @Value("${member.loader.max-delay-micros:1000}") long maxDelayMicros,
+                               @Value("${member.loader.workers:4}") int workers) {
+        this.loader = new BatchLoader<>("member-loader", memberJpaRepository::findAllDtoByIds,
+                maxBatchSize, maxDelayMicros, workers);
+    }
+
+    /**
+     * 없는 회원이면 null로 완료
+     */
+    public CompletableFuture<MemberTeamDto> findById(Long memberId) {
+        return loader.load(memberId);
+    }
+
+    public BatchLoader.Stats getStats() {
+        return loader.getStats();
+    }
+
+    @PreDestroy
+    public void close() {
+        loader.close();
+    }
+
+}
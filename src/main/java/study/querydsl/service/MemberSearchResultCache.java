@@ -0,0 +1,295 @@
+package study.querydsl.service;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.event.MemberChangedEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 회원 검색 결과(List<MemberTeamDto>) 캐시 - 조건(정규화된 MemberSearchCond) + 조회 방식별
+ * - 최대 member.search.cache.max-entries 개, LRU로 제거
+ * - member.search.cache.off-heap=true 면 결과를 직렬화해서 direct ByteBuffer에 보관 (힙/GC 부담 감소, 조회 시 역직렬화)
+ *   off-heap 전체 크기는 member.search.cache.max-off-heap-bytes 이하로 유지
+ * - 무효화는 MemberChangedEvent의 팀/나이 범위와 겹치는 항목만 (팀 조건이 있는 항목은 해당 팀 id, 나이 구간 목록은 구간별로 비교)
+ * - 트랜잭션 안에서의 호출은 커밋 전 변경이 보일 수 있으므로 캐시를 사용하지 않음
+ */
+@Component
+public class MemberSearchResultCache {
+
+    private final JPAQueryFactory queryFactory;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final boolean offHeap;
+    private final long maxOffHeapBytes;
+
+    private final LinkedHashMap<List<Object>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // synchronized(this)
+    private long offHeapBytes; // synchronized(this)
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public MemberSearchResultCache(JPAQueryFactory queryFactory,
+                                   @Value("${member.search.cache.enabled:true}") boolean enabled,
+                                   @Value("${member.search.cache.max-entries:1000}") int maxEntries,
+                                   @Value("${member.search.cache.off-heap:false}") boolean offHeap,
+                                   @Value("${member.search.cache.max-off-heap-bytes:67108864}") long maxOffHeapBytes) {
+        this.queryFactory = queryFactory;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.offHeap = offHeap;
+        this.maxOffHeapBytes = maxOffHeapBytes;
+    }
+
+    public List<MemberTeamDto> get(String method, MemberSearchCond cond, Supplier<List<MemberTeamDto>> search) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return search.get();
+        }
+
+        MemberSearchCond normalized = cond.normalized();
+        List<Object> key = List.of(method, normalized);
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached.read();
+        }
+
+        misses.incrementAndGet();
+        long versionBefore = version.get();
+        Set<Long> teamIds = teamIds(normalized);
+        List<MemberTeamDto> result = search.get();
+
+        Entry entry = offHeap
+                ? Entry.offHeap(normalized, teamIds, serialize(result))
+                : Entry.onHeap(normalized, teamIds, result);
+        synchronized (this) {
+            // 조회 중에 무효화되었다면 이전 데이터일 수 있으므로 캐싱하지 않음
+            if (version.get() == versionBefore) {
+                put(key, entry);
+            }
+        }
+        return offHeap ? result : entry.read();
+    }
+
+    @Order(MemberChangedEvent.INVALIDATE_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        synchronized (this) {
+            version.incrementAndGet();
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.affectedBy(event)) {
+                    offHeapBytes -= entry.offHeapBytes();
+                    iterator.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public synchronized Stats getStats() {
+        long onHeapBytes = 0;
+        for (Entry entry : entries.values()) {
+            onHeapBytes += entry.estimatedOnHeapBytes();
+        }
+        return new Stats(hits.get(), misses.get(), invalidations.get(), evictions.get(),
+                entries.size(), onHeapBytes, offHeapBytes);
+    }
+
+    private void put(List<Object> key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            offHeapBytes -= previous.offHeapBytes();
+        }
+        offHeapBytes += entry.offHeapBytes();
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (eldest.hasNext() && (entries.size() > maxEntries || offHeapBytes > maxOffHeapBytes)) {
+            offHeapBytes -= eldest.next().offHeapBytes();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    // 팀 조건에 해당하는 팀 id, 팀 조건이 없으면 null - teamName과 teamNames가 함께 있으면 teamName 기준 (무효화 범위는 넓어도 됨)
+    private Set<Long> teamIds(MemberSearchCond normalized) {
+        if (normalized.getTeamName() == null && normalized.getTeamNames() == null) {
+            return null;
+        }
+        return new HashSet<>(queryFactory
+                .select(team.id)
+                .from(team)
+                .where(normalized.getTeamName() != null
+                        ? team.name.eq(normalized.getTeamName())
+                        : team.name.in(normalized.getTeamNames()))
+                .fetch());
+    }
+
+    private static ByteBuffer serialize(List<MemberTeamDto> rows) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + rows.size() * 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(rows.size());
+            for (MemberTeamDto row : rows) {
+                writeLong(out, row.getMemberId());
+                writeString(out, row.getUsername());
+                out.writeInt(row.getAge());
+                writeLong(out, row.getTeamId());
+                writeString(out, row.getTeamName());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] array = bytes.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(array.length);
+        buffer.put(array).flip();
+        return buffer;
+    }
+
+    private static List<MemberTeamDto> deserialize(ByteBuffer buffer) {
+        byte[] array = new byte[buffer.remaining()];
+        buffer.duplicate().get(array);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(array))) {
+            int size = in.readInt();
+            List<MemberTeamDto> rows = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                rows.add(new MemberTeamDto(readLong(in), readString(in), in.readInt(), readLong(in), readString(in)));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static class Entry {
+        private final MemberSearchCond cond;
+        private final Set<Long> teamIds; // 팀 조건이 없으면 null (모든 팀)
+        private final List<MemberTeamDto> rows;
+        private final ByteBuffer serialized;
+
+        private Entry(MemberSearchCond cond, Set<Long> teamIds, List<MemberTeamDto> rows, ByteBuffer serialized) {
+            this.cond = cond;
+            this.teamIds = teamIds;
+            this.rows = rows;
+            this.serialized = serialized;
+        }
+
+        static Entry onHeap(MemberSearchCond cond, Set<Long> teamIds, List<MemberTeamDto> rows) {
+            return new Entry(cond, teamIds, Collections.unmodifiableList(new ArrayList<>(rows)), null);
+        }
+
+        static Entry offHeap(MemberSearchCond cond, Set<Long> teamIds, ByteBuffer serialized) {
+            return new Entry(cond, teamIds, null, serialized);
+        }
+
+        List<MemberTeamDto> read() {
+            return rows != null ? rows : deserialize(serialized);
+        }
+
+        boolean affectedBy(MemberChangedEvent event) {
+            if (event.isGlobal()) {
+                return true;
+            }
+            if (teamIds != null && event.getTeamIds().stream().noneMatch(teamIds::contains)) {
+                return false;
+            }
+            if (!event.affectsAges(cond.getAgeGoe(), cond.getAgeLoe())) {
+                return false;
+            }
+            return cond.getAgeRanges() == null
+                    || cond.getAgeRanges().stream().anyMatch(range -> event.affectsAges(range.getGoe(), range.getLoe()));
+        }
+
+        long offHeapBytes() {
+            return serialized == null ? 0 : serialized.capacity();
+        }
+
+        // 대략적인 크기: DTO(헤더 + 필드) + Long 2개 + 문자열 2개(평균 16자), off-heap이면 Entry만
+        long estimatedOnHeapBytes() {
+            return 64 + (rows == null ? 0 : rows.size() * (40 + 2 * 16 + 2 * 56));
+        }
+    }
+
+    @Getter
+    @ToString
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long invalidations;
+        private final long evictions;
+        private final int entries;
+        private final long estimatedOnHeapBytes;
+        private final long offHeapBytes;
+
+        private Stats(long hits, long misses, long invalidations, long evictions,
+                      int entries, long estimatedOnHeapBytes, long offHeapBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.invalidations = invalidations;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.estimatedOnHeapBytes = estimatedOnHeapBytes;
+            this.offHeapBytes = offHeapBytes;
+        }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+}
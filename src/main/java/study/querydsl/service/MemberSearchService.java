@@ -0,0 +1,126 @@
+package study.querydsl.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.repository.MemberField;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberSqlRepository;
+import study.querydsl.repository.MemberTeamReadModel;
+import study.querydsl.repository.support.SingleFlight;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 회원 검색 경로 선택 - member.search.engine=jpa(기본) | sql(querydsl-sql)
+ * 목록 검색(search, searchByWhere)은 MemberSearchResultCache로 결과 캐싱
+ * member.read-model.enabled=true 면 (jpa 경로, 트랜잭션 밖) team 조인 없이 비정규화 읽기 모델(member_team_view)에서 조회
+ * 같은 조건(정규화된 MemberSearchCond + Pageable)으로 동시에 들어온 검색은 한 번만 실행하고 결과 공유
+ * - member.search.coalesce.enabled (기본 true), member.search.coalesce.timeout-ms (기본 3000)
+ * - 트랜잭션 안에서의 호출은 아직 커밋되지 않은 변경이 보일 수 있으므로 합치지 않음
+ */
+@Service
+public class MemberSearchService {
+
+    private final MemberRepository memberRepository;
+    private final MemberSqlRepository memberSqlRepository;
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberSearchResultCache resultCache;
+    private final MemberTeamReadModel memberTeamReadModel;
+    private final boolean useSql;
+    private final boolean coalesce;
+    private final SingleFlight<List<Object>, Object> singleFlight;
+
+    public MemberSearchService(MemberRepository memberRepository,
+                               MemberSqlRepository memberSqlRepository,
+                               MemberJpaRepository memberJpaRepository,
+                               MemberSearchResultCache resultCache,
+                               MemberTeamReadModel memberTeamReadModel,
+                               @Value("${member.search.engine:jpa}") String engine,
+                               @Value("${member.search.coalesce.enabled:true}") boolean coalesce,
+                               @Value("${member.search.coalesce.timeout-ms:3000}") long coalesceTimeoutMillis) {
+        this.memberRepository = memberRepository;
+        this.memberSqlRepository = memberSqlRepository;
+        this.memberJpaRepository = memberJpaRepository;
+        this.resultCache = resultCache;
+        this.memberTeamReadModel = memberTeamReadModel;
+        this.useSql = "sql".equalsIgnoreCase(engine);
+        this.coalesce = coalesce;
+        this.singleFlight = new SingleFlight<>(coalesceTimeoutMillis);
+    }
+
+    // 결과 캐시(MemberSearchResultCache) -> 동시 요청 합치기 -> 조회
+    public List<MemberTeamDto> search(MemberSearchCond cond) {
+        return resultCache.get(useSql ? "search-sql" : "search", cond, () -> coalesced("search", cond, null,
+                () -> useSql ? memberSqlRepository.search(cond)
+                        : useReadModel() ? memberRepository.searchReadModel(cond)
+                        : memberRepository.search(cond)));
+    }
+
+    public List<MemberTeamDto> searchByWhere(MemberSearchCond cond) {
+        return resultCache.get("searchByWhere", cond, () -> coalesced("searchByWhere", cond, null,
+                () -> useReadModel() ? memberRepository.searchReadModel(cond) : memberJpaRepository.searchByWhere(cond)));
+    }
+
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCond cond, Pageable pageable) {
+        return coalesced("searchPageSimple", cond, pageable,
+                () -> useSql ? memberSqlRepository.searchPageSimple(cond, pageable)
+                        : useReadModel() ? memberRepository.searchPageReadModel(cond, pageable)
+                        : memberRepository.searchPageSimple(cond, pageable));
+    }
+
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCond cond, Pageable pageable) {
+        // sql 경로는 실행 계획에 따라 COUNT(*) OVER() 단일 쿼리 / 컨텐츠 + count 쿼리 중 선택
+        return coalesced("searchPageComplex", cond, pageable,
+                () -> useSql ? memberSqlRepository.searchPageAuto(cond, pageable)
+                        : useReadModel() ? memberRepository.searchPageReadModel(cond, pageable)
+                        : memberRepository.searchPageComplex(cond, pageable));
+    }
+
+    // fields로 선택한 필드만 조회 (JPA 경로)
+    public List<Map<String, Object>> searchFields(MemberSearchCond cond, Set<MemberField> fields) {
+        return coalesced("searchFields" + fields, cond, null, () -> memberRepository.searchFields(cond, fields));
+    }
+
+    public Page<Map<String, Object>> searchPageFields(MemberSearchCond cond, Set<MemberField> fields, Pageable pageable) {
+        return coalesced("searchPageFields" + fields, cond, pageable, () -> memberRepository.searchPageFields(cond, fields, pageable));
+    }
+
+    public SingleFlight.Stats getCoalesceStats() {
+        return singleFlight.getStats();
+    }
+
+    // 커밋 이후 들어온 검색은 변경 전에 시작된 실행 결과를 받지 않음
+    @Order(MemberChangedEvent.INVALIDATE_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        singleFlight.forgetAll();
+    }
+
+    // 읽기 모델은 커밋된 변경만 반영되므로 트랜잭션 안에서는 조인 쿼리 사용
+    private boolean useReadModel() {
+        return memberTeamReadModel.isReady() && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesced(String method, MemberSearchCond cond, Pageable pageable, Supplier<T> search) {
+        if (!coalesce || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return search.get();
+        }
+        List<Object> key = Arrays.asList(method, useSql, cond.normalized(), pageable);
+        return (T) singleFlight.execute(key, search::get);
+    }
+
+}
@@ -0,0 +1,108 @@
+package study.querydsl.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.AgeHistogramDto;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.repository.MemberIdRangeScanner;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 통계 (대시보드용) - 조건별 결과 캐싱, 회원 변경 커밋 후 무효화
+ * 조건 없는 전체 통계는 member_id 구간별로 병렬 집계 후 합침 (MemberIdRangeScanner)
+ * 구간마다 워커가 새 트랜잭션(커넥션)을 쓰므로 이 서비스는 트랜잭션을 시작하지 않음
+ * (호출한 쪽 커넥션을 잡은 채 워커 커넥션을 더 가져가면 커넥션 풀이 고갈될 수 있음)
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberStatisticsService {
+
+    private static final int MAX_CACHED_CONDITIONS = 1_000;
+    private static final MemberSearchCond ALL = new MemberSearchCond();
+
+    private final MemberRepository memberRepository;
+    private final MemberIdRangeScanner memberIdRangeScanner;
+
+    private final Map<MemberSearchCond, List<AgeHistogramDto>> histogramCache = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 이미 트랜잭션 안에서 호출되면 병렬 집계 대신 호출한 쪽 커넥션으로 한 번에 조회 (커밋 전 변경도 보임)
+     * 읽기 전용 트랜잭션도 마찬가지 -> 호출한 쪽에서 @Transactional(readOnly = true)를 걸면 캐시도, 병렬 집계도 쓰지 않음
+     */
+    public List<AgeHistogramDto> ageHistogram(MemberSearchCond cond) {
+        MemberSearchCond key = cond.normalized();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return memberRepository.ageHistogram(key);
+        }
+
+        List<AgeHistogramDto> cached = histogramCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long versionBefore = version.get();
+        List<AgeHistogramDto> result = Collections.unmodifiableList(key.equals(ALL)
+                ? scanAgeHistogram()
+                : memberRepository.ageHistogram(key));
+
+        // 조회 중에 무효화되었다면 이전 데이터일 수 있으므로 캐싱하지 않음
+        if (version.get() == versionBefore && histogramCache.size() < MAX_CACHED_CONDITIONS) {
+            histogramCache.putIfAbsent(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * 전체 통계 다시 계산 (캐시 교체) - 구간마다 별도 읽기 전용 트랜잭션이므로 트랜잭션 밖에서 호출
+     */
+    public List<AgeHistogramDto> rebuildAgeHistogram() {
+        long versionBefore = version.get();
+        List<AgeHistogramDto> result = Collections.unmodifiableList(scanAgeHistogram());
+        if (version.get() == versionBefore) {
+            histogramCache.put(ALL, result);
+        }
+        return result;
+    }
+
+    private List<AgeHistogramDto> scanAgeHistogram() {
+        return memberIdRangeScanner.reduce(
+                range -> memberRepository.ageHistogram(ALL, range.getFromId(), range.getToId()),
+                MemberStatisticsService::merge,
+                Collections.emptyList());
+    }
+
+    // 구간별 결과 합치기 - 같은 팀의 구간별 회원 수를 더함, 팀 id 순서 (팀 없음이 먼저, 단일 쿼리 결과와 같은 순서)
+    private static List<AgeHistogramDto> merge(List<AgeHistogramDto> left, List<AgeHistogramDto> right) {
+        Map<Long, AgeHistogramDto> merged = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (List<AgeHistogramDto> histograms : List.of(left, right)) {
+            for (AgeHistogramDto histogram : histograms) {
+                AgeHistogramDto target = merged.computeIfAbsent(histogram.getTeamId(),
+                        teamId -> new AgeHistogramDto(teamId, histogram.getTeamName()));
+                histogram.getBuckets().forEach((bucket, count) -> target.getBuckets().merge(bucket, count, Long::sum));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    @Order(MemberChangedEvent.INVALIDATE_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        version.incrementAndGet();
+        histogramCache.clear();
+    }
+
+}
@@ -0,0 +1,89 @@
+package study.querydsl.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberWriteBehindBuffer;
+import study.querydsl.repository.MemberWriteBehindBuffer.PendingUpdate;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+
+/**
+ * 회원 수정 - write-behind가 켜져 있으면 버퍼에 쌓고, 아니면 호출마다 트랜잭션 + 변경 감지로 반영
+ * - 버퍼에 쌓을 때는 트랜잭션(커넥션)을 잡지 않음 (호출한 쪽 트랜잭션이 있어도 참여하지 않고, 롤백되어도 버퍼의 수정은 남음)
+ * - 버퍼 flush와 JPA 변경 감지가 같은 회원을 수정하면 나중에 커밋된 쪽 값이 남음 (last-writer-wins)
+ *   Member는 변경된 컬럼만 update 하므로(@DynamicUpdate) 다른 컬럼 수정이 버퍼가 반영한 age, team_id를 덮어쓰지는 않음
+ */
+@Service
+public class MemberUpdateService {
+
+    private final EntityManager em;
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberWriteBehindBuffer writeBehindBuffer;
+    private final TransactionTemplate transactionTemplate;
+
+    public MemberUpdateService(EntityManager em,
+                               MemberJpaRepository memberJpaRepository,
+                               MemberWriteBehindBuffer writeBehindBuffer,
+                               PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.memberJpaRepository = memberJpaRepository;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void updateAge(Long memberId, int age) {
+        if (writeBehindBuffer.isEnabled()) {
+            writeBehindBuffer.updateAge(memberId, age);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> findMember(memberId).setAge(age));
+    }
+
+    public void changeTeam(Long memberId, Long teamId) {
+        if (writeBehindBuffer.isEnabled()) {
+            writeBehindBuffer.changeTeam(memberId, teamId);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> findMember(memberId).changeTeam(em.getReference(Team.class, teamId)));
+    }
+
+    /**
+     * 버퍼에 남아있는 수정까지 반영된 회원 조회 (read-through)
+     */
+    @Transactional(readOnly = true)
+    public Optional<MemberTeamDto> findMemberTeam(Long memberId) {
+        return memberJpaRepository.findById(memberId)
+                .map(m -> {
+                    Team team = m.getTeam();
+                    MemberTeamDto dto = new MemberTeamDto(m.getId(), m.getUsername(), m.getAge(),
+                            team == null ? null : team.getId(),
+                            team == null ? null : team.getName());
+
+                    writeBehindBuffer.getPending(memberId).ifPresent(update -> overlay(dto, update));
+                    return dto;
+                });
+    }
+
+    private void overlay(MemberTeamDto dto, PendingUpdate update) {
+        if (update.getAge() != null) {
+            dto.setAge(update.getAge());
+        }
+        if (update.getTeamId() != null && !update.getTeamId().equals(dto.getTeamId())) {
+            dto.setTeamId(update.getTeamId());
+            dto.setTeamName(em.find(Team.class, update.getTeamId()).getName());
+        }
+    }
+
+    private Member findMember(Long memberId) {
+        return memberJpaRepository.findById(memberId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 회원입니다: " + memberId));
+    }
+
+}
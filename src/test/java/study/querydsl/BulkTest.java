@@ -8,11 +8,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Commit;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCond;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
 
 import javax.persistence.EntityManager;
-
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +27,9 @@ public class BulkTest {
     @Autowired
     EntityManager em;
 
+    @Autowired
+    MemberRepository memberRepository;
+
     JPAQueryFactory queryFactory;
 
     @BeforeEach
@@ -102,4 +106,48 @@ public class BulkTest {
         assertThat(count).isEqualTo(2);
     }
 
+    @Test
+    @DisplayName("수정 벌크 연산 - 수정된 회원 id 반환, 영속성 컨텍스트 초기화 불필요")
+    void bulkAddAgeReturningIds() {
+        Member member1 = memberRepository.findByUsername("member1").get(0);
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("teamA");
+
+        List<Long> ids = memberRepository.bulkAddAge(cond, 1);
+
+        assertThat(ids).hasSize(2).contains(member1.getId());
+        assertThat(member1.getAge()).isEqualTo(11); // em.clear() 없이 수정된 회원만 다시 읽음
+    }
+
+    @Test
+    @DisplayName("수정 벌크 연산 - 수정된 회원이 다시 조건에 맞아도 한 번만 수정 (id 기준 keyset 조회)")
+    void bulkAddAgeOncePerMember() {
+        Member member3 = memberRepository.findByUsername("member3").get(0);
+        Member member4 = memberRepository.findByUsername("member4").get(0);
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeGoe(30);
+
+        List<Long> ids = memberRepository.bulkAddAge(cond, 100);
+
+        assertThat(ids).containsExactly(member3.getId(), member4.getId()); // id 순서
+        assertThat(member3.getAge()).isEqualTo(130);
+        assertThat(member4.getAge()).isEqualTo(140);
+    }
+
+    @Test
+    @DisplayName("삭제 벌크 연산 - 삭제된 회원 id 반환")
+    void bulkDeleteReturningIds() {
+        Member member4 = memberRepository.findByUsername("member4").get(0);
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeGoe(30);
+
+        List<Long> ids = memberRepository.bulkDelete(cond);
+
+        assertThat(ids).hasSize(2).contains(member4.getId());
+        assertThat(em.contains(member4)).isFalse();
+    }
+
 }
@@ -3,6 +3,8 @@ package study.querydsl;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.DirectProjection;
 import study.querydsl.dto.MemberDto;
 import study.querydsl.dto.QMemberDto;
 import study.querydsl.dto.UserDto;
@@ -21,6 +24,8 @@ import study.querydsl.entity.Team;
 import javax.persistence.EntityManager;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static study.querydsl.entity.QMember.member;
 
 @Transactional
@@ -194,4 +199,38 @@ public class ProjectionTest {
         }
     }
 
+    @Test
+    @DisplayName("리플렉션 없이 DTO 생성자를 직접 호출하는 DirectProjection으로 DTO 조회")
+    void findDtoByDirectProjection() {
+        List<MemberDto> result = queryFactory
+                .select(MemberDto.projection(member.username, member.age))
+                .from(member)
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(result).extracting("username")
+                .containsExactly("member1", "member2", "member3", "member4");
+        assertThat(result).extracting("age")
+                .containsExactly(10, 20, 30, 40);
+    }
+
+    @Test
+    @DisplayName("DirectProjection - 조회된 값의 개수나 타입이 표현식과 다르면 위치와 타입을 담아 실패")
+    void directProjectionMismatch() {
+        DirectProjection<MemberDto> projection = MemberDto.projection(member.username, member.age);
+        assertThatThrownBy(() -> projection.newInstance("member1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected=2");
+
+        // Integer로 선언했지만 DB에서는 Long(member_id)이 조회됨
+        NumberExpression<Integer> wrongType = Expressions.numberTemplate(Integer.class, "{0}", member.id);
+        assertThatThrownBy(() -> queryFactory
+                .select(MemberDto.projection(member.username, wrongType))
+                .from(member)
+                .fetch())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1번째")
+                .hasMessageContaining(Long.class.getName());
+    }
+
 }
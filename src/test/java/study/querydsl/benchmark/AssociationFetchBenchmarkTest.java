@@ -0,0 +1,131 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static study.querydsl.benchmark.BenchmarkSupport.intProperty;
+import static study.querydsl.benchmark.BenchmarkSupport.measure;
+import static study.querydsl.benchmark.BenchmarkSupport.statistics;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 연관 관계 로딩 전략 비교
+ * - lazy: 프록시를 하나씩 초기화 (NoBatchFetch는 N+1 기준선, BatchFetch는 default_batch_fetch_size로 IN 쿼리로 묶임)
+ * - fetchJoin: BasicSyntaxTest.fetchJoin 방식
+ * - preload: MemberJpaRepository.preloadTeams / TeamRepository.preloadMembers
+ * Team.members는 EXTRA lazy라 size()는 count 쿼리 -> Hibernate.initialize로 실제 로딩을 측정
+ */
+@Tag("benchmark")
+@Transactional
+abstract class AssociationFetchBenchmarkTest {
+
+    @SpringBootTest(properties = {"logging.level.org.hibernate.SQL=info",
+            "spring.jpa.properties.hibernate.default_batch_fetch_size=1"})
+    static class NoBatchFetch extends AssociationFetchBenchmarkTest {
+    }
+
+    @SpringBootTest(properties = "logging.level.org.hibernate.SQL=info")
+    static class BatchFetch extends AssociationFetchBenchmarkTest {
+    }
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Test
+    @DisplayName("Member.team / Team.members 로딩 전략 비교")
+    void compareStrategies() {
+        int memberCount = intProperty("members", 10_000);
+        int teamCount = intProperty("teams", 1_000);
+
+        Team[] teams = new Team[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            teams[i] = new Team("team" + i);
+            em.persist(teams[i]);
+        }
+        for (int i = 0; i < memberCount; i++) {
+            em.persist(new Member("member" + i, i % 100, teams[i % teamCount]));
+            if (i % 1_000 == 0) {
+                em.flush();
+                em.clear();
+                for (int t = 0; t < teamCount; t++) {
+                    teams[t] = em.getReference(Team.class, teams[t].getId());
+                }
+            }
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = statistics(em);
+
+        run(statistics, "member.team lazy", () -> {
+            List<Member> members = memberJpaRepository.findAll_Querydsl();
+            members.forEach(m -> m.getTeam().getName());
+        });
+        run(statistics, "member.team fetchJoin", () -> {
+            List<Member> members = queryFactory
+                    .selectFrom(member)
+                    .join(member.team, team).fetchJoin()
+                    .fetch();
+            members.forEach(m -> m.getTeam().getName());
+        });
+        run(statistics, "member.team preload", () -> {
+            List<Member> members = memberJpaRepository.preloadTeams(memberJpaRepository.findAll_Querydsl());
+            members.forEach(m -> m.getTeam().getName());
+        });
+
+        run(statistics, "team.members lazy", () -> {
+            List<Team> result = teamRepository.findAll();
+            result.forEach(t -> Hibernate.initialize(t.getMembers()));
+        });
+        run(statistics, "team.members fetchJoin", () -> {
+            List<Team> result = queryFactory
+                    .selectFrom(team).distinct()
+                    .leftJoin(team.members).fetchJoin()
+                    .fetch();
+            result.forEach(t -> Hibernate.initialize(t.getMembers()));
+        });
+        run(statistics, "team.members preload", () -> {
+            List<Team> result = teamRepository.preloadMembers(teamRepository.findAll());
+            result.forEach(t -> Hibernate.initialize(t.getMembers()));
+        });
+    }
+
+    private void run(Statistics statistics, String name, Runnable task) {
+        Runnable clearFirst = () -> {
+            em.clear();
+            task.run();
+        };
+
+        String label = getClass().getSimpleName() + " " + name;
+        measure(label, 2, 5, clearFirst);
+
+        statistics.clear();
+        clearFirst.run();
+        System.out.printf("[benchmark] %-40s %10d statements%n", label, statistics.getPrepareStatementCount());
+    }
+
+}
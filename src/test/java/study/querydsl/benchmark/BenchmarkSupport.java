@@ -0,0 +1,44 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+
+/**
+ * ./gradlew benchmark 로 실행하는 벤치마크 테스트 공통 유틸
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    public static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger("benchmark." + name, defaultValue);
+    }
+
+    public static Statistics statistics(EntityManager em) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        return statistics;
+    }
+
+    /**
+     * warmup 후 rounds 만큼 실행한 평균 시간(ms) 출력
+     */
+    public static double measure(String name, int warmup, int rounds, Runnable task) {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            task.run();
+        }
+        double avgMillis = (System.nanoTime() - start) / 1_000_000.0 / rounds;
+
+        System.out.printf("[benchmark] %-40s %10.2f ms/op%n", name, avgMillis);
+        return avgMillis;
+    }
+
+}
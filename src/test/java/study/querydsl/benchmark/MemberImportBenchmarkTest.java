@@ -0,0 +1,78 @@
+package study.querydsl.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.dto.MemberImportResult;
+import study.querydsl.service.MemberImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.benchmark.BenchmarkSupport.intProperty;
+
+/**
+ * CSV 대량 등록 처리량 - 목표 100k rows/s (로컬 H2)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=info")
+class MemberImportBenchmarkTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberImportService memberImportService;
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    @Test
+    @DisplayName("CSV 스트리밍 등록")
+    void importCsv() {
+        int rows = intProperty("rows", 1_000_000);
+        int teams = 100;
+        for (int i = 0; i < teams; i++) {
+            jdbcTemplate.update("insert into team (team_id, name) values (next value for hibernate_sequence, ?)", "team" + i);
+        }
+
+        MemberImportResult result = memberImportService.importCsv(csv(rows, teams));
+
+        System.out.printf("[benchmark] imported %d rows in %d ms (%.0f rows/s), failed %d%n",
+                result.getInsertedRows(), result.getElapsedMillis(),
+                result.getInsertedRows() * 1000.0 / Math.max(1, result.getElapsedMillis()), result.getFailedRows());
+        assertThat(result.getInsertedRows()).isEqualTo(rows);
+    }
+
+    // 파일 전체를 메모리에 만들지 않고 줄 단위로 생성
+    private InputStream csv(int rows, int teams) {
+        return new SequenceInputStream(new Enumeration<>() {
+            int line = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return line < rows;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String text = line < 0 ? "username,age,teamName\n"
+                        : "member" + line + "," + (line % 100) + ",team" + (line % teams) + "\n";
+                line++;
+                return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+}
@@ -0,0 +1,122 @@
+package study.querydsl.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.service.MemberLookupService;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.benchmark.BenchmarkSupport.intProperty;
+
+/**
+ * 회원 단건 조회 처리량 (동시 요청) - 요청마다 em.find + 팀 조회 vs micro-batching (MemberLookupService)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=info")
+class MemberLookupBenchmarkTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberLookupService memberLookupService;
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    @Test
+    @DisplayName("회원 단건 조회 - per-id vs batching loader")
+    void compareThroughput() throws Exception {
+        int memberCount = intProperty("members", 10_000);
+        int threads = intProperty("threads", 32);
+        int lookupsPerThread = intProperty("lookups", 2_000);
+
+        List<Long> memberIds = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("teamA");
+            em.persist(team);
+            for (int i = 0; i < memberCount; i++) {
+                Member member = new Member("member" + i, i % 100, team);
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+
+        run("per-id em.find", threads, lookupsPerThread, memberIds, memberId ->
+                transactionTemplate.execute(status -> {
+                    Member member = memberJpaRepository.findById(memberId).get();
+                    return new MemberTeamDto(member.getId(), member.getUsername(), member.getAge(),
+                            member.getTeam().getId(), member.getTeam().getName());
+                }));
+
+        run("batching loader", threads, lookupsPerThread, memberIds, memberId ->
+                memberLookupService.findById(memberId).get(5, TimeUnit.SECONDS));
+
+        System.out.println("[benchmark] loader " + memberLookupService.getStats()
+                + ", averageBatchSize=" + memberLookupService.getStats().getAverageBatchSize());
+    }
+
+    private void run(String name, int threads, int lookupsPerThread, List<Long> memberIds,
+                     Lookup lookup) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < lookupsPerThread; i++) {
+                        Long memberId = memberIds.get(ThreadLocalRandom.current().nextInt(memberIds.size()));
+                        MemberTeamDto member = lookup.find(memberId);
+                        assertThat(member.getMemberId()).isEqualTo(memberId);
+                    }
+                    return null;
+                });
+            }
+
+            long start = System.nanoTime();
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("[benchmark] %-40s %10.0f lookups/s%n", name, threads * lookupsPerThread / seconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        MemberTeamDto find(Long memberId) throws Exception;
+    }
+
+}
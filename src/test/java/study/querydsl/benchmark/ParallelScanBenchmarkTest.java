@@ -0,0 +1,93 @@
+package study.querydsl.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.repository.support.ParallelIdRangeScanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.benchmark.BenchmarkSupport.intProperty;
+import static study.querydsl.benchmark.BenchmarkSupport.measure;
+
+/**
+ * 전체 회원 export - 단일 쿼리 vs member_id 구간 병렬 스캔 (parallelism 1, 2, 4)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=info")
+class ParallelScanBenchmarkTest {
+
+    private static final String SELECT_SQL = "select m.username, m.age, t.name from member m"
+            + " left join team t on t.team_id = m.team_id";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    @Test
+    @DisplayName("전체 회원 CSV export")
+    void compareSingleQueryAndParallelScan() {
+        int memberCount = intProperty("members", 1_000_000);
+        int teamCount = intProperty("teams", 100);
+        int rangeSize = intProperty("range-size", 10_000);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= teamCount; i++) {
+            rows.add(new Object[]{(long) i, "team" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", rows);
+
+        rows.clear();
+        for (int i = 1; i <= memberCount; i++) {
+            rows.add(new Object[]{(long) i, "member" + i, i % 100, (long) (i % teamCount) + 1});
+            if (rows.size() == 10_000 || i == memberCount) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+
+        measure("single query", 1, 3, () ->
+                assertThat(csvLength(SELECT_SQL + " order by m.member_id")).isPositive());
+
+        for (int parallelism : new int[]{1, 2, 4}) {
+            try (ParallelIdRangeScanner scanner =
+                         new ParallelIdRangeScanner("bench-scan", transactionManager, parallelism, rangeSize)) {
+                List<ParallelIdRangeScanner.IdRange> ranges = scanner.split(1L, (long) memberCount);
+                AtomicLong length = new AtomicLong();
+
+                measure("parallel scan (parallelism " + parallelism + ")", 1, 3, () ->
+                        scanner.forEachOrdered(ranges, range -> csvLength(
+                                SELECT_SQL + " where m.member_id between ? and ? order by m.member_id",
+                                range.getFromId(), range.getToId()), length::addAndGet));
+                assertThat(length.get()).isPositive();
+            }
+        }
+    }
+
+    // 실제 export와 같이 행마다 CSV 텍스트를 만듦
+    private long csvLength(String sql, Object... args) {
+        StringBuilder text = new StringBuilder();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> text.append(rs.getString(1)).append(',')
+                .append(rs.getInt(2)).append(',')
+                .append(rs.getString(3)).append('\n'), args);
+        return text.length();
+    }
+
+}
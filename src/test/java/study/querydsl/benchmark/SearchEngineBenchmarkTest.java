@@ -0,0 +1,66 @@
+package study.querydsl.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberSqlRepository;
+
+import javax.persistence.EntityManager;
+
+import static study.querydsl.benchmark.BenchmarkSupport.intProperty;
+import static study.querydsl.benchmark.BenchmarkSupport.measure;
+
+/**
+ * 회원 검색 JPA(Querydsl -> JPQL -> SQL) vs querydsl-sql 비교
+ */
+@Tag("benchmark")
+@Transactional
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=info")
+class SearchEngineBenchmarkTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    @Test
+    @DisplayName("JPA vs querydsl-sql 검색")
+    void compareEngines() {
+        int memberCount = intProperty("members", 100_000);
+        Team[] teams = {new Team("teamA"), new Team("teamB")};
+        em.persist(teams[0]);
+        em.persist(teams[1]);
+        for (int i = 0; i < memberCount; i++) {
+            em.persist(new Member("member" + i, i % 100, teams[i % 2]));
+            if (i % 1_000 == 0) {
+                em.flush();
+            }
+        }
+        em.flush();
+        em.clear();
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("teamA");
+        cond.setAgeGoe(20);
+        cond.setAgeLoe(40);
+        PageRequest page = PageRequest.of(10, 20);
+
+        measure("jpa search (list)", 3, 10, () -> memberRepository.search(cond));
+        measure("sql search (list)", 3, 10, () -> memberSqlRepository.search(cond));
+        measure("jpa searchPageComplex", 20, 200, () -> memberRepository.searchPageComplex(cond, page));
+        measure("sql searchPageComplex", 20, 200, () -> memberSqlRepository.searchPageComplex(cond, page));
+    }
+
+}
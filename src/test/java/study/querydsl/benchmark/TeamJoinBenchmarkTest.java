@@ -0,0 +1,94 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.Hibernate;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.benchmark.BenchmarkSupport.intProperty;
+import static study.querydsl.benchmark.BenchmarkSupport.statistics;
+
+/**
+ * 회원이 1M 명인 팀에 회원 100k 명 추가 - Team.members를 초기화하지 않는지 확인
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=info",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=1000"
+})
+class TeamJoinBenchmarkTest {
+
+    private static final long PRELOADED_ID_START = 1_000_000_000L;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    @Test
+    @DisplayName("대규모 팀에 회원 추가")
+    void insertIntoLargeTeam() {
+        int existing = intProperty("existingMembers", 1_000_000);
+        int inserts = intProperty("inserts", 100_000);
+
+        Long teamId = transactionTemplate.execute(status -> {
+            Team team = new Team("bigTeam");
+            em.persist(team);
+            return team.getId();
+        });
+
+        // 기존 회원은 JDBC batch로 준비
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < existing; i++) {
+            rows.add(new Object[]{PRELOADED_ID_START + i, "existing" + i, i % 100, teamId});
+            if (rows.size() == 10_000 || i == existing - 1) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+
+        Statistics statistics = statistics(em);
+        statistics.clear();
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = em.find(Team.class, teamId);
+            for (int i = 0; i < inserts; i++) {
+                em.persist(new Member("new" + i, i % 100, team));
+                if (i % 1_000 == 999) {
+                    em.flush();
+                }
+            }
+            assertThat(Hibernate.isInitialized(team.getMembers())).isFalse();
+        });
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("[benchmark] %d inserts into team with %d members: %.2f s (%.0f inserts/s), collections loaded: %d%n",
+                inserts, existing, seconds, inserts / seconds, statistics.getCollectionLoadCount());
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+}
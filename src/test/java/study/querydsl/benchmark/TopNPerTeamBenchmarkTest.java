@@ -0,0 +1,85 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.entity.QMember;
+import study.querydsl.repository.MemberSqlRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.querydsl.jpa.JPAExpressions.select;
+import static study.querydsl.benchmark.BenchmarkSupport.intProperty;
+import static study.querydsl.benchmark.BenchmarkSupport.measure;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 팀별 최고령 회원 - 상관 서브쿼리(BasicSyntaxTest.subQuery 방식) vs 윈도우 함수
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=info")
+class TopNPerTeamBenchmarkTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    @Test
+    @DisplayName("팀별 최고령 회원 조회")
+    void compareSubQueryAndWindowFunction() {
+        int memberCount = intProperty("members", 1_000_000);
+        int teamCount = intProperty("teams", 1_000);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= teamCount; i++) {
+            rows.add(new Object[]{(long) i, "team" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", rows);
+
+        rows.clear();
+        for (int i = 1; i <= memberCount; i++) {
+            rows.add(new Object[]{(long) i, "member" + i, (i * 31) % 100, (long) (i % teamCount) + 1});
+            if (rows.size() == 10_000 || i == memberCount) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+
+        QMember memberSub = new QMember("memberSub");
+
+        measure("correlated subquery (JPA)", 1, 3, () -> transactionTemplate.executeWithoutResult(status ->
+                queryFactory
+                        .selectFrom(member)
+                        .where(member.age.eq(
+                                select(memberSub.age.max())
+                                        .from(memberSub)
+                                        .where(memberSub.team.eq(member.team))))
+                        .fetch()));
+
+        measure("row_number() over (querydsl-sql)", 1, 3, () ->
+                memberSqlRepository.findTopByAgePerTeam(new MemberSearchCond(), 1));
+    }
+
+}
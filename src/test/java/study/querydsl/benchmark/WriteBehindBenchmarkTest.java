@@ -0,0 +1,93 @@
+package study.querydsl.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberWriteBehindBuffer;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.benchmark.BenchmarkSupport.intProperty;
+
+/**
+ * 회원 수정 처리량 비교 - 호출마다 트랜잭션 + flush vs write-behind 버퍼
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=info",
+        "member.write-behind.enabled=true",
+        "member.write-behind.batch-size=500"
+})
+class WriteBehindBenchmarkTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberWriteBehindBuffer writeBehindBuffer;
+
+    @AfterEach
+    void afterEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("회원 수정 처리량 - per-call vs write-behind")
+    void compareThroughput() {
+        int memberCount = intProperty("members", 1_000);
+        int updateCount = intProperty("updates", 20_000);
+
+        List<Long> memberIds = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("teamA");
+            em.persist(team);
+            for (int i = 0; i < memberCount; i++) {
+                Member member = new Member("member" + i, 0, team);
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < updateCount; i++) {
+            Long memberId = memberIds.get(i % memberCount);
+            int age = i;
+            transactionTemplate.executeWithoutResult(status ->
+                    memberJpaRepository.findById(memberId).get().setAge(age));
+        }
+        report("per-call transaction", updateCount, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < updateCount; i++) {
+            writeBehindBuffer.updateAge(memberIds.get(i % memberCount), i);
+        }
+        writeBehindBuffer.flush();
+        report("write-behind", updateCount, System.nanoTime() - start);
+        System.out.printf("[benchmark] write-behind rows flushed: %d (coalesced from %d updates)%n",
+                writeBehindBuffer.getFlushedRowCount(), writeBehindBuffer.getEnqueuedCount());
+    }
+
+    private void report(String name, int updates, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("[benchmark] %-40s %10.0f updates/s%n", name, updates / seconds);
+    }
+
+}
@@ -0,0 +1,171 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.config.WebConfig;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.MemberChangedEvent;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 데이터 버전은 커밋 이후에 바뀌므로 @Transactional 없이 직접 정리
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    Long member1Id;
+    Long member3Id;
+
+    @BeforeEach
+    void beforeEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            Member member1 = new Member("member1", 10, teamA);
+            Member member3 = new Member("member3", 30, teamB);
+            em.persist(member1);
+            em.persist(member3);
+            member1Id = member1.getId();
+            member3Id = member3.getId();
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+        eventPublisher.publishEvent(MemberChangedEvent.global()); // JPQL 벌크 삭제는 이벤트가 없으므로 직접 무효화
+    }
+
+    @Test
+    void conditionalGet() throws Exception {
+        String eTag = mockMvc.perform(get("/v1/members").param("teamName", "teamA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("member1"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(eTag).startsWith("\"");
+
+        mockMvc.perform(get("/v1/members").param("teamName", "teamA").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // 다른 팀 변경은 teamA 조건의 ETag에 영향 없음
+        transactionTemplate.executeWithoutResult(status -> em.find(Member.class, member3Id).setAge(31));
+        mockMvc.perform(get("/v1/members").param("teamName", "teamA").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        transactionTemplate.executeWithoutResult(status -> em.find(Member.class, member1Id).setAge(11));
+        mockMvc.perform(get("/v1/members").param("teamName", "teamA").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$[0].age").value(11));
+    }
+
+    @Test
+    void notAcceptable() throws Exception {
+        // JSON을 받을 수 없으면 캐시된 JSON 대신 메시지 컨버터 -> 406
+        mockMvc.perform(get("/v1/members").param("teamName", "teamA").accept(MediaType.TEXT_HTML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void eTagPerRequest() throws Exception {
+        // "Aa"와 "BB"는 String.hashCode가 같음 -> 요청 key의 hashCode로 만들면 ETag가 겹침
+        String first = mockMvc.perform(get("/v1/members").param("username", "Aa"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String second = mockMvc.perform(get("/v1/members").param("username", "BB"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void findMember() throws Exception {
+        // 단건 조회는 BatchLoader로 비동기 처리
+        MvcResult found = mockMvc.perform(get("/v1/members/{memberId}", member1Id))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(found))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("member1"))
+                .andExpect(jsonPath("$.teamName").value("teamA"));
+
+        // 배치 조회 결과에 없는 id -> null -> 404
+        MvcResult missing = mockMvc.perform(get("/v1/members/{memberId}", member3Id + 1000))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(missing))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void contentNegotiation() throws Exception {
+        MediaType smile = MediaType.valueOf("application/x-jackson-smile");
+
+        // 기본은 JSON
+        mockMvc.perform(get("/v3/members").param("teamName", "teamA"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].username").value("member1"));
+
+        // Accept 헤더
+        byte[] body = mockMvc.perform(get("/v3/members").param("teamName", "teamA").accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(readSmile(body).at("/content/0/username").asText()).isEqualTo("member1");
+
+        // ?format=smile (ETag 응답 캐시를 거치는 v1도 Smile은 컨버터로 직렬화)
+        body = mockMvc.perform(get("/v1/members").param("teamName", "teamA").param("format", "smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(readSmile(body).at("/0/username").asText()).isEqualTo("member1");
+    }
+
+    private JsonNode readSmile(byte[] body) throws Exception {
+        return new ObjectMapper(WebConfig.smileFactory()).readTree(body);
+    }
+
+}
@@ -0,0 +1,173 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.AgeHistogramDto;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.repository.support.ParallelIdRangeScanner.IdRange;
+import study.querydsl.service.MemberExportService;
+import study.querydsl.service.MemberStatisticsService;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 구간마다 새 트랜잭션(다른 커넥션)에서 읽으므로 @Transactional 없이 커밋 후 직접 정리
+ */
+@SpringBootTest(properties = {"member.scan.parallelism=2", "member.scan.range-size=2"})
+class MemberIdRangeScannerTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberIdRangeScanner memberIdRangeScanner;
+
+    @Autowired
+    MemberExportService memberExportService;
+
+    @Autowired
+    MemberStatisticsService memberStatisticsService;
+
+    @BeforeEach
+    void beforeEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40, null));
+            em.persist(new Member("member5", 15, teamB));
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        eventPublisher.publishEvent(MemberChangedEvent.global());
+    }
+
+    @Test
+    void scan() {
+        List<IdRange> ranges = memberIdRangeScanner.ranges();
+        assertThat(ranges).hasSize(3); // member id 5개 연속, 2개씩
+        for (int i = 1; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).getFromId()).isEqualTo(ranges.get(i - 1).getToId() + 1);
+        }
+
+        List<String> expected = List.of("member1", "member2", "member3", "member4", "member5");
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // 순서 보장
+        List<String> ordered = new ArrayList<>();
+        memberIdRangeScanner.forEachOrdered(range -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+            threads.add(Thread.currentThread().getName());
+            return usernames(range);
+        }, ordered::addAll);
+        assertThat(ordered).containsExactlyElementsOf(expected);
+        assertThat(threads).allMatch(name -> name.startsWith("member-scan-"));
+
+        // 순서 무관
+        List<String> unordered = new ArrayList<>();
+        memberIdRangeScanner.forEach(this::usernames, unordered::addAll);
+        assertThat(unordered).containsExactlyInAnyOrderElementsOf(expected);
+
+        // fork/join 합치기는 id 순서
+        List<String> reduced = memberIdRangeScanner.reduce(this::usernames, (left, right) -> {
+            List<String> merged = new ArrayList<>(left);
+            merged.addAll(right);
+            return merged;
+        }, Collections.emptyList());
+        assertThat(reduced).containsExactlyElementsOf(expected);
+
+        // 한 구간이라도 실패하면 호출한 쪽으로 예외 전달
+        long lastFromId = ranges.get(ranges.size() - 1).getFromId();
+        assertThatThrownBy(() -> memberIdRangeScanner.forEachOrdered(range -> {
+            if (range.getFromId() == lastFromId) {
+                throw new IllegalStateException("scan failed");
+            }
+            return usernames(range);
+        }, usernames -> {
+        })).isInstanceOf(IllegalStateException.class).hasMessageContaining("scan failed");
+    }
+
+    @Test
+    void exportCsv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(memberExportService.exportCsv(out, true)).isEqualTo(5);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("username,age,teamName\n"
+                + "member1,10,teamA\n"
+                + "member2,20,teamA\n"
+                + "member3,30,teamB\n"
+                + "member4,40,\n"
+                + "member5,15,teamB\n");
+
+        ByteArrayOutputStream unordered = new ByteArrayOutputStream();
+        assertThat(memberExportService.exportCsv(unordered, false)).isEqualTo(5);
+        assertThat(unordered.toString(StandardCharsets.UTF_8).split("\n"))
+                .containsExactlyInAnyOrder(out.toString(StandardCharsets.UTF_8).split("\n"));
+    }
+
+    @Test
+    void ageHistogram() {
+        List<AgeHistogramDto> expected = memberRepository.ageHistogram(new MemberSearchCond());
+
+        assertThat(memberStatisticsService.rebuildAgeHistogram()).isEqualTo(expected);
+        assertThat(memberStatisticsService.ageHistogram(new MemberSearchCond())).isEqualTo(expected);
+        assertThat(expected.get(0).getTeamId()).isNull(); // 팀 없는 회원이 먼저
+
+        // 트랜잭션 안에서는 구간별 병렬 집계(워커마다 새 커넥션) 대신 호출한 쪽 커넥션으로 조회 -> 커밋 전 변경도 보이고 캐싱하지 않음
+        List<AgeHistogramDto> inTransaction = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            em.persist(new Member("member6", 50));
+            em.flush();
+            return memberStatisticsService.ageHistogram(new MemberSearchCond());
+        });
+        assertThat(inTransaction.get(0).getBuckets()).containsEntry(50, 1L);
+        assertThat(memberStatisticsService.ageHistogram(new MemberSearchCond())).isEqualTo(expected);
+    }
+
+    private List<String> usernames(IdRange range) {
+        return jdbcTemplate.queryForList("select username from member where member_id between ? and ? order by member_id",
+                String.class, range.getFromId(), range.getToId());
+    }
+
+}
@@ -6,14 +6,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSearchCond.AgeRange;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.repository.support.SearchConditionSupport;
 
 import javax.persistence.EntityManager;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
 
 @Transactional
 @SpringBootTest
@@ -76,4 +79,51 @@ class MemberJpaRepositoryTest {
                 .containsExactly("member1");
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("대소문자 구분 없는 username 조회는 username_lower 인덱스를 사용")
+    void findByUsernameIgnoreCaseTest() {
+        Member member1 = new Member("Member1", 10);
+        Member member2 = new Member("member2", 20);
+        repository.save(member1);
+        repository.save(member2);
+        em.flush();
+        em.clear();
+
+        List<Member> result = repository.findByUsernameIgnoreCase_Querydsl("MEMBER1");
+        assertThat(result).extracting("username").containsExactly("Member1");
+
+        String indexedPlan = (String) em.createNativeQuery(
+                        "explain select * from member where username_lower = 'member1'")
+                .getSingleResult();
+        String functionPlan = (String) em.createNativeQuery(
+                        "explain select * from member where lower(username) = 'member1'")
+                .getSingleResult();
+        assertThat(indexedPlan).containsIgnoringCase("idx_member_username_lower");
+        assertThat(functionPlan).doesNotContainIgnoringCase("idx_member_username_lower");
+    }
+
+    @Test
+    @DisplayName("떨어진 나이 구간 여러 개는 age IN (...)으로 바꿔야 age 인덱스를 사용")
+    void ageRangeInUsesIndexTest() {
+        for (int age = 0; age < 50; age++) {
+            repository.save(new Member("member" + age, age));
+        }
+        em.flush();
+
+        // 닫힌 구간, 전체 나이 수 AGE_IN_LIST_MAX 이하 -> IN 목록 / 열린 구간이 있으면 구간별 OR
+        List<AgeRange> closed = List.of(AgeRange.valueOf("10-12"), AgeRange.valueOf("30-32"));
+        List<AgeRange> open = List.of(AgeRange.valueOf("-12"), AgeRange.valueOf("30-32"));
+        assertThat(SearchConditionSupport.ageRangeIn(member.age, closed).toString()).contains(" in ");
+        assertThat(SearchConditionSupport.ageRangeIn(member.age, open).toString()).contains(" || ");
+
+        String inPlan = (String) em.createNativeQuery(
+                        "explain select * from member where age in (10, 11, 12, 30, 31, 32)")
+                .getSingleResult();
+        String orPlan = (String) em.createNativeQuery(
+                        "explain select * from member where age between 10 and 12 or age between 30 and 32")
+                .getSingleResult();
+        assertThat(inPlan).containsIgnoringCase("idx_member_age");
+        assertThat(orPlan).doesNotContainIgnoringCase("idx_member_age");
+    }
+
+}
@@ -1,21 +1,36 @@
 package study.querydsl.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.AgeHistogramDto;
 import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSearchCond.AgeRange;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberUpsertDto;
+import study.querydsl.dto.MemberUpsertResult;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.repository.support.InQuerySupport;
+import study.querydsl.repository.support.UnsupportedFieldException;
+import study.querydsl.repository.support.UnsupportedSortException;
+import study.querydsl.repository.support.UsernameIndex;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static study.querydsl.entity.QMember.member;
 
 @Transactional
@@ -28,6 +43,9 @@ class MemberRepositoryTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    MemberUsernameIndex memberUsernameIndex;
+
     @BeforeEach
     void beforeEach() {
         Team teamA = new Team("teamA");
@@ -74,6 +92,208 @@ class MemberRepositoryTest {
                 .containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    void searchPageComplexSortTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age"));
+
+        Page<MemberTeamDto> result = memberRepository.searchPageComplex(condition, pageRequest);
+
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting("username")
+                .containsExactly("member4", "member3");
+    }
+
+    @Test
+    void searchPageRejectsUnindexedSortTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by("teamName"));
+
+        assertThatThrownBy(() -> memberRepository.searchPageComplex(condition, pageRequest))
+                .isInstanceOf(UnsupportedSortException.class);
+    }
+
+    @Test
+    void upsertByUsernameTest() {
+        Member member1 = memberRepository.findByUsername("member1").get(0);
+
+        MemberUpsertResult result = memberRepository.upsertByUsername(List.of(
+                new MemberUpsertDto("member1", 11, "teamB"),
+                new MemberUpsertDto("member5", 50, "teamA")));
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(member1.getAge()).isEqualTo(11); // 영속성 컨텍스트의 회원도 갱신
+        assertThat(member1.getTeam().getName()).isEqualTo("teamB");
+
+        MemberSearchCond condition = new MemberSearchCond();
+        condition.setTeamName("teamA");
+        assertThat(memberRepository.search(condition)).extracting("username")
+                .containsExactlyInAnyOrder("member2", "member5");
+    }
+
+    @Test
+    void upsertByUsernameCountsUsernamesTest() {
+        Team teamA = memberRepository.findByUsername("member1").get(0).getTeam();
+        em.persist(new Member("member1", 99, teamA)); // 같은 username 회원 두 명
+        em.flush();
+
+        MemberUpsertResult result = memberRepository.upsertByUsername(List.of(
+                new MemberUpsertDto("member1", 12, ""),
+                new MemberUpsertDto("member1", 13, null), // 같은 username은 마지막 값
+                new MemberUpsertDto("member6", 60, null)));
+
+        // 행 수가 아니라 username 수
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(memberRepository.findByUsername("member1")).extracting("age").containsOnly(13);
+        assertThat(memberRepository.findByUsername("member1")).allSatisfy(m -> assertThat(m.getTeam()).isNull());
+    }
+
+    @Test
+    void upsertByUsernameRejectsUnknownTeamTest() {
+        assertThatThrownBy(() -> memberRepository.upsertByUsername(List.of(
+                new MemberUpsertDto("member1", 11, "teamA"),
+                new MemberUpsertDto("member5", 50, "teamX"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("teamX");
+
+        // 아무것도 반영되지 않음
+        Member member1 = memberRepository.findByUsername("member1").get(0);
+        assertThat(member1.getAge()).isEqualTo(10);
+        assertThat(member1.getTeam().getName()).isEqualTo("teamA");
+        assertThat(memberRepository.findByUsername("member5")).isEmpty();
+    }
+
+    @Test
+    void ageHistogramTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        condition.setAgeLoe(30);
+
+        List<AgeHistogramDto> result = memberRepository.ageHistogram(condition);
+
+        assertThat(result).extracting("teamName")
+                .containsExactly("teamA", "teamB");
+        assertThat(result.get(0).getBuckets())
+                .containsEntry(10, 1L)
+                .containsEntry(20, 1L);
+        assertThat(result.get(1).getBuckets())
+                .containsOnlyKeys(30);
+    }
+
+    @Test
+    void findByUsernameWithIndexTest() {
+        // flush 전이라 인덱스에는 없지만 영속성 컨텍스트에서 확인
+        Member member1 = memberRepository.findByUsername("member1").get(0);
+        em.flush();
+
+        assertThat(memberUsernameIndex.lookup("member1")).isEqualTo(member1.getId());
+        assertThat(memberUsernameIndex.lookup("nobody")).isEqualTo(UsernameIndex.ABSENT);
+        assertThat(memberRepository.findByUsername("nobody")).isEmpty();
+
+        member1.setUsername("renamed");
+        assertThat(memberUsernameIndex.lookup("renamed")).isEqualTo(UsernameIndex.AMBIGUOUS); // flush 전 변경도 영속성 컨텍스트에서 확인
+        assertThat(memberUsernameIndex.lookup("member2")).isNotEqualTo(UsernameIndex.AMBIGUOUS); // 변경 없는 회원은 인덱스 그대로
+        em.flush();
+
+        assertThat(memberRepository.findByUsername("renamed")).containsExactly(member1);
+        assertThat(memberRepository.findByUsername("member1")).isEmpty(); // 이전 username은 커밋 후 제거되지만 DB 확인으로 걸러짐
+    }
+
+    @Test
+    void findAllByUsernamesTest() {
+        Map<String, List<Member>> result = memberRepository.findAllByUsernames(
+                Arrays.asList("member1", "member3", "nobody", "member1", "member4"));
+
+        assertThat(result).containsOnlyKeys("member1", "member3", "nobody", "member4");
+        assertThat(result.get("member1")).extracting("age").containsExactly(10);
+        assertThat(result.get("member4")).extracting("age").containsExactly(40);
+        assertThat(result.get("nobody")).isEmpty();
+    }
+
+    @Test
+    void paddedChunkTest() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            values.add(i);
+        }
+
+        List<List<Integer>> chunks = InQuerySupport.paddedChunk(values, 100);
+
+        assertThat(chunks).extracting(List::size).containsExactly(64, 64, 32);
+        assertThat(chunks.get(2).subList(22, 32)).containsOnly(149); // 마지막 값으로 채움
+    }
+
+    @Test
+    void searchMultiValueTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        condition.setTeamNames(Arrays.asList("teamA", "teamB", ""));
+        condition.setAgeRanges(Arrays.asList(AgeRange.valueOf("5-10"), AgeRange.valueOf("40-"), AgeRange.valueOf("8-12")));
+
+        assertThat(memberRepository.search(condition)).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member4");
+
+        condition.setUsernames(Arrays.asList("member1", "member2", "member3"));
+        Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition, PageRequest.of(0, 10));
+        assertThat(page.getContent()).extracting("username").containsExactly("member1");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+
+        // 빈 구간만 있으면 결과 없음
+        condition.setAgeRanges(Arrays.asList(new AgeRange(30, 20)));
+        assertThat(memberRepository.search(condition)).isEmpty();
+    }
+
+    @Test
+    void ageRangeMergeTest() {
+        List<AgeRange> merged = AgeRange.merge(Arrays.asList(
+                AgeRange.valueOf("30-39"), AgeRange.valueOf("10-19"), AgeRange.valueOf("20-25"), AgeRange.valueOf("50")));
+
+        assertThat(merged).containsExactly(new AgeRange(10, 25), new AgeRange(30, 39), new AgeRange(50, 50));
+        assertThat(AgeRange.merge(Arrays.asList(AgeRange.valueOf("-20"), AgeRange.valueOf("15-")))).isNull(); // 전체 구간
+        assertThat(AgeRange.merge(Arrays.asList(AgeRange.valueOf("-20"), AgeRange.valueOf("30-"))))
+                .containsExactly(new AgeRange(null, 20), new AgeRange(30, null));
+        assertThatThrownBy(() -> AgeRange.valueOf("ten"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchFieldsTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        condition.setAgeGoe(30);
+        em.flush();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        try {
+            List<Map<String, Object>> rows = memberRepository.searchFields(condition,
+                    MemberField.parse(Arrays.asList("username", "memberId")));
+
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0)).containsOnlyKeys("memberId", "username"); // 선언 순서
+            assertThat(rows).extracting(row -> row.get("username")).containsExactlyInAnyOrder("member3", "member4");
+            // teamName을 선택하지도, 조건에 쓰지도 않으면 team 조인 없음
+            assertThat(statistics.getQueries()).hasSize(1)
+                    .allSatisfy(query -> assertThat(query).doesNotContainIgnoringCase("join"));
+
+            condition.setTeamName("teamB");
+            statistics.clear();
+            Page<Map<String, Object>> page = memberRepository.searchPageFields(condition,
+                    MemberField.parse(Arrays.asList("teamName")), PageRequest.of(0, 1, Sort.by("age")));
+
+            assertThat(page.getTotalElements()).isEqualTo(2);
+            assertThat(page.getContent()).containsExactly(Map.of("teamName", "teamB"));
+            assertThat(statistics.getQueries()).isNotEmpty()
+                    .allSatisfy(query -> assertThat(query).containsIgnoringCase("join"));
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+
+        assertThatThrownBy(() -> MemberField.parse(Arrays.asList("password")))
+                .isInstanceOf(UnsupportedFieldException.class);
+    }
+
     @Test
     void querydslPredicateExecutorTest() {
         Iterable<Member> result = memberRepository.findAll(
@@ -0,0 +1,133 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberRankDto;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSearchCond.AgeRange;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest(properties = "member.paging.window-count-max-rows=2")
+class MemberSqlRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        em.flush(); // querydsl-sql은 영속성 컨텍스트를 거치지 않으므로 DB에 반영
+    }
+
+    @Test
+    void searchTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(35);
+
+        List<MemberTeamDto> result = memberSqlRepository.search(condition);
+
+        assertThat(result).extracting("username")
+                .containsExactly("member4");
+        assertThat(result.get(0).getTeamName()).isEqualTo("teamB");
+    }
+
+    @Test
+    void searchMultiValueTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        condition.setTeamNames(Arrays.asList("teamA", "teamB"));
+        condition.setAgeRanges(Arrays.asList(AgeRange.valueOf("10-15"), AgeRange.valueOf("35-40")));
+
+        List<MemberTeamDto> result = memberSqlRepository.search(condition);
+        assertThat(result).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member4");
+
+        Page<MemberTeamDto> page = memberSqlRepository.searchPageAuto(condition, PageRequest.of(0, 1, Sort.by("age")));
+        assertThat(page.getContent()).extracting("username").containsExactly("member1");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void preferWindowCountTest() {
+        // window-count-max-rows=2 -> username 조건은 username 수로 추정 -> COUNT(*) OVER()
+        MemberSearchCond usernames = new MemberSearchCond();
+        usernames.setUsernames(Arrays.asList("member1", "member3"));
+        assertThat(memberSqlRepository.preferWindowCount(usernames)).isTrue();
+
+        // 팀, 나이 조건, 조건 없음 -> 테이블 행 수 추정치 (통계는 커밋 전 데이터를 세지 않을 수 있으므로 추정치 기준으로 비교)
+        MemberSearchCond teamA = new MemberSearchCond();
+        teamA.setTeamName("teamA");
+        boolean estimatedSmall = memberSqlRepository.memberRowCountEstimate() <= 2;
+        assertThat(memberSqlRepository.preferWindowCount(teamA)).isEqualTo(estimatedSmall);
+        assertThat(memberSqlRepository.preferWindowCount(new MemberSearchCond())).isEqualTo(estimatedSmall);
+
+        // 어느 쪽이든 전체 건수는 같음
+        assertThat(memberSqlRepository.searchPageAuto(usernames, PageRequest.of(0, 1)).getTotalElements()).isEqualTo(2);
+        assertThat(memberSqlRepository.searchPageAuto(teamA, PageRequest.of(0, 1)).getTotalElements()).isEqualTo(2);
+        assertThat(memberSqlRepository.searchPageAuto(new MemberSearchCond(), PageRequest.of(0, 1)).getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void searchPageComplexTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age"));
+
+        Page<MemberTeamDto> result = memberSqlRepository.searchPageComplex(condition, pageRequest);
+
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting("username")
+                .containsExactly("member4", "member3", "member2");
+    }
+
+    @Test
+    void searchPageWithTotalTest() {
+        MemberSearchCond condition = new MemberSearchCond();
+        condition.setAgeGoe(20);
+        PageRequest pageRequest = PageRequest.of(0, 2);
+
+        Page<MemberTeamDto> result = memberSqlRepository.searchPageWithTotal(condition, pageRequest);
+
+        assertThat(result.getTotalElements()).isEqualTo(3); // COUNT(*) OVER()
+        assertThat(result.getContent()).extracting("username")
+                .containsExactly("member2", "member3");
+    }
+
+    @Test
+    void findTopByAgePerTeamTest() {
+        List<MemberRankDto> result = memberSqlRepository.findTopByAgePerTeam(new MemberSearchCond(), 1);
+
+        assertThat(result).extracting("username")
+                .containsExactly("member2", "member4"); // 팀별 최고령
+        assertThat(result).extracting("rank")
+                .containsOnly(1L);
+    }
+
+}
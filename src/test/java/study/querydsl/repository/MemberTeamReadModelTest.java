@@ -0,0 +1,155 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.repository.support.UnsupportedSortException;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 읽기 모델은 커밋 직전에 반영되므로 @Transactional 없이 직접 정리
+ */
+@SpringBootTest(properties = "member.read-model.enabled=true")
+class MemberTeamReadModelTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberTeamReadModel memberTeamReadModel;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    Long teamAId;
+    Long teamBId;
+    Long member1Id;
+
+    @BeforeEach
+    void beforeEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            Member member1 = new Member("member1", 10, teamA);
+            em.persist(member1);
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40, null));
+
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+            member1Id = member1.getId();
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from member_team_view");
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        eventPublisher.publishEvent(MemberChangedEvent.global());
+    }
+
+    @Test
+    void maintainedOnCommit() {
+        assertThat(memberTeamReadModel.isReady()).isTrue();
+        assertThat(memberTeamReadModel.check().isConsistent()).isTrue();
+        assertThat(teamNames("teamA")).extracting("username").containsExactlyInAnyOrder("member1", "member2");
+
+        // 팀 이름 변경, 팀 이동, 나이 수정
+        transactionTemplate.executeWithoutResult(status -> {
+            em.find(Team.class, teamBId).setName("teamC");
+            Member member1 = em.find(Member.class, member1Id);
+            member1.changeTeam(em.find(Team.class, teamBId));
+            member1.setAge(11);
+        });
+
+        assertThat(teamNames("teamA")).extracting("username").containsExactly("member2");
+        assertThat(teamNames("teamC")).extracting("username").containsExactlyInAnyOrder("member1", "member3");
+        assertThat(teamNames("teamC")).extracting("age").contains(11);
+
+        // 롤백되면 읽기 모델도 그대로
+        transactionTemplate.executeWithoutResult(status -> {
+            em.find(Member.class, member1Id).setAge(99);
+            em.flush();
+            status.setRollbackOnly();
+        });
+        assertThat(teamNames("teamC")).extracting("age").contains(11).doesNotContain(99);
+
+        // 벌크 연산 (JDBC 경로)
+        MemberSearchCond teamA = new MemberSearchCond();
+        teamA.setTeamName("teamA");
+        memberRepository.bulkAddAge(teamA, 1);
+
+        assertThat(teamNames("teamA")).extracting("age").containsExactly(21);
+        assertThat(memberTeamReadModel.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    void checkAndRebuild() {
+        jdbcTemplate.update("update member_team_view set team_name = 'stale' where member_id = ?", member1Id);
+        jdbcTemplate.update("delete from member_team_view where team_id = ?", teamBId);
+
+        MemberTeamReadModel.ConsistencyReport report = memberTeamReadModel.check();
+        assertThat(report.isConsistent()).isFalse();
+        assertThat(report.getMismatched()).containsExactly(member1Id);
+        assertThat(report.getMissing()).hasSize(1);
+
+        assertThat(memberTeamReadModel.rebuild()).isEqualTo(4);
+        assertThat(memberTeamReadModel.check().isConsistent()).isTrue();
+        assertThat(teamNames("teamA")).extracting("teamId").containsOnly(teamAId);
+    }
+
+    @Test
+    void sortWhitelistMatchesJoinQuery() {
+        // 읽기 모델 사용 여부와 관계없이 같은 정렬 키만 허용
+        MemberSearchCond cond = new MemberSearchCond();
+        PageRequest byAge = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age"));
+        assertThat(memberRepository.searchPageReadModel(cond, byAge).getContent()).extracting("username")
+                .containsExactly("member4", "member3");
+        assertThat(memberRepository.searchPageComplex(cond, byAge).getContent()).extracting("username")
+                .containsExactly("member4", "member3");
+
+        PageRequest byTeamName = PageRequest.of(0, 2, Sort.by("teamName"));
+        assertThatThrownBy(() -> memberRepository.searchPageReadModel(cond, byTeamName))
+                .isInstanceOf(UnsupportedSortException.class);
+        assertThatThrownBy(() -> memberRepository.searchPageComplex(cond, byTeamName))
+                .isInstanceOf(UnsupportedSortException.class);
+    }
+
+    private List<MemberTeamDto> teamNames(String teamName) {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName(teamName);
+        return memberRepository.searchReadModel(cond);
+    }
+
+}
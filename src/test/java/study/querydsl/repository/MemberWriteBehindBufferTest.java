@@ -0,0 +1,204 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.service.MemberDataVersion;
+import study.querydsl.service.MemberUpdateService;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * flush는 자체 트랜잭션으로 커밋하므로 @Transactional 없이 직접 정리
+ * 주기적인 flush가 끼어들지 않도록 flush-interval-ms를 길게 두고 직접 flush
+ */
+@SpringBootTest(properties = {
+        "member.write-behind.enabled=true",
+        "member.write-behind.batch-size=1",
+        "member.write-behind.flush-interval-ms=3600000"
+})
+class MemberWriteBehindBufferTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    MemberWriteBehindBuffer buffer;
+
+    @Autowired
+    MemberUpdateService memberUpdateService;
+
+    @Autowired
+    MemberDataVersion memberDataVersion;
+
+    @SpyBean
+    MemberTeamReadModel memberTeamReadModel;
+
+    Long teamAId;
+    Long teamBId;
+    Long member1Id;
+    Long member2Id;
+
+    @BeforeEach
+    void beforeEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            Member member1 = new Member("member1", 10, teamA);
+            Member member2 = new Member("member2", 20, teamA);
+            em.persist(member1);
+            em.persist(member2);
+
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+            member1Id = member1.getId();
+            member2Id = member2.getId();
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        buffer.flush();
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        eventPublisher.publishEvent(MemberChangedEvent.global());
+    }
+
+    @Test
+    void coalesceAndReadThrough() {
+        long enqueuedBefore = buffer.getEnqueuedCount();
+
+        buffer.updateAge(member1Id, 11);
+        buffer.updateAge(member1Id, 12);
+        buffer.changeTeam(member1Id, teamBId);
+
+        // 같은 회원의 수정은 하나로 합쳐짐 (마지막 값)
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.getEnqueuedCount() - enqueuedBefore).isEqualTo(3);
+        MemberWriteBehindBuffer.PendingUpdate pending = buffer.getPending(member1Id).orElseThrow();
+        assertThat(pending.getAge()).isEqualTo(12);
+        assertThat(pending.getTeamId()).isEqualTo(teamBId);
+
+        // 반영 전에도 조회에는 보임
+        MemberTeamDto beforeFlush = memberUpdateService.findMemberTeam(member1Id).orElseThrow();
+        assertThat(beforeFlush.getAge()).isEqualTo(12);
+        assertThat(beforeFlush.getTeamName()).isEqualTo("teamB");
+        assertThat(ageOf(member1Id)).isEqualTo(10);
+
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(buffer.getPending(member1Id)).isEmpty();
+        assertThat(ageOf(member1Id)).isEqualTo(12);
+        assertThat(teamOf(member1Id)).isEqualTo(teamBId);
+    }
+
+    @Test
+    void rejectInvalidUpdates() {
+        assertThatThrownBy(() -> buffer.updateAge(member1Id, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> buffer.changeTeam(member1Id, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> buffer.updateAge(null, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(buffer.size()).isZero();
+
+        // 존재하지 않는 팀(FK 위반)은 해당 수정만 버리고 나머지는 반영
+        long rejectedBefore = buffer.getRejectedRowCount();
+        buffer.changeTeam(member1Id, -1L);
+        buffer.updateAge(member2Id, 21);
+
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(buffer.getRejectedRowCount() - rejectedBefore).isEqualTo(1);
+        assertThat(buffer.size()).isZero();
+        assertThat(teamOf(member1Id)).isEqualTo(teamAId);
+        assertThat(ageOf(member2Id)).isEqualTo(21);
+    }
+
+    @Test
+    void restoreOnlyUnwrittenUpdates() {
+        // batch-size=1 -> 첫 chunk는 커밋, 두 번째 chunk에서 일시적 오류
+        doCallRealMethod()
+                .doThrow(new TransientDataAccessResourceException("db unavailable"))
+                .doCallRealMethod()
+                .when(memberTeamReadModel).refreshMembers(any());
+
+        buffer.updateAge(member1Id, 11);
+        buffer.updateAge(member2Id, 21);
+        String versionBefore = memberDataVersion.version(new MemberSearchCond());
+
+        assertThatThrownBy(() -> buffer.flush()).isInstanceOf(TransientDataAccessResourceException.class);
+
+        // 커밋된 chunk는 다시 쌓이지 않고, 캐시/ETag 무효화 이벤트도 발행됨
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(List.of(ageOf(member1Id), ageOf(member2Id))).containsAnyOf(11, 21).containsAnyOf(10, 20);
+        assertThat(memberDataVersion.version(new MemberSearchCond())).isNotEqualTo(versionBefore);
+
+        // 되돌린 수정보다 나중에 들어온 값이 우선
+        Long failedId = buffer.getPending(member1Id).isPresent() ? member1Id : member2Id;
+        buffer.updateAge(failedId, 99);
+
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(ageOf(failedId)).isEqualTo(99);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void lastWriterWinsWithJpaUpdate() {
+        buffer.updateAge(member1Id, 50);
+
+        // 회원을 읽은 뒤 버퍼가 먼저 반영되어도, JPA는 변경한 컬럼(username)만 update -> 버퍼가 반영한 age 유지
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member1 = em.find(Member.class, member1Id);
+            CompletableFuture.runAsync(buffer::flush).join();
+            member1.setUsername("renamed");
+        });
+        assertThat(ageOf(member1Id)).isEqualTo(50);
+        assertThat(jdbcTemplate.queryForObject("select username from member where member_id = ?", String.class, member1Id))
+                .isEqualTo("renamed");
+
+        // 같은 컬럼은 나중에 반영된 쪽이 남음
+        buffer.updateAge(member1Id, 60);
+        transactionTemplate.executeWithoutResult(status -> em.find(Member.class, member1Id).setAge(70));
+        assertThat(ageOf(member1Id)).isEqualTo(70);
+
+        buffer.flush();
+        assertThat(ageOf(member1Id)).isEqualTo(60);
+    }
+
+    private int ageOf(Long memberId) {
+        return jdbcTemplate.queryForObject("select age from member where member_id = ?", Integer.class, memberId);
+    }
+
+    private Long teamOf(Long memberId) {
+        return jdbcTemplate.queryForObject("select team_id from member where member_id = ?", Long.class, memberId);
+    }
+
+}
@@ -0,0 +1,91 @@
+package study.querydsl.repository;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamMembersDto;
+import study.querydsl.dto.TeamSearchCond;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class TeamRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        Team teamC = new Team("teamC");
+
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("memberA" + i, 10 + i, teamA));
+        }
+        em.persist(new Member("memberB0", 20, teamB));
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void searchTeamWithMembersTest() {
+        PageRequest pageRequest = PageRequest.of(0, 2);
+
+        Page<TeamMembersDto> result = teamRepository.searchTeamWithMembers(new TeamSearchCond(), pageRequest, 3);
+
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).extracting("teamName")
+                .containsExactly("teamA", "teamB");
+
+        TeamMembersDto teamA = result.getContent().get(0);
+        assertThat(teamA.getMemberCount()).isEqualTo(5);
+        assertThat(teamA.getMembers()).extracting("username")
+                .containsExactly("memberA0", "memberA1", "memberA2"); // memberLimit까지만
+
+        TeamMembersDto teamB = result.getContent().get(1);
+        assertThat(teamB.getMemberCount()).isEqualTo(1);
+        assertThat(teamB.getMembers()).extracting("username")
+                .containsExactly("memberB0");
+    }
+
+    @Test
+    void searchTeamWithoutMembersTest() {
+        Page<TeamMembersDto> result = teamRepository.searchTeamWithMembers(new TeamSearchCond(), PageRequest.of(0, 3), 0);
+
+        // 회원은 조회하지 않아도 회원 수는 채움
+        assertThat(result.getContent()).extracting("memberCount").containsExactly(5L, 1L, 0L);
+        assertThat(result.getContent()).allSatisfy(team -> assertThat(team.getMembers()).isEmpty());
+    }
+
+    @Test
+    void addMemberDoesNotInitializeMembersTest() {
+        Team teamA = em.createQuery("select t from Team t where t.name = :name", Team.class)
+                .setParameter("name", "teamA")
+                .getSingleResult();
+
+        em.persist(new Member("memberA5", 15, teamA));
+
+        assertThat(Hibernate.isInitialized(teamA.getMembers())).isFalse();
+        assertThat(teamA.getMembers().size()).isEqualTo(6); // extra lazy -> count 쿼리
+    }
+
+}
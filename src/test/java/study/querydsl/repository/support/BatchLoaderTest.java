@@ -0,0 +1,88 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchLoaderTest {
+
+    private static final long NEVER_MICROS = TimeUnit.MINUTES.toMicros(10); // 타이머로는 실행되지 않게
+
+    @Test
+    void duplicateKeysLoadOnce() throws Exception {
+        List<Set<Long>> calls = Collections.synchronizedList(new ArrayList<>());
+        try (BatchLoader<Long, String> loader = new BatchLoader<>("test", keys -> {
+            calls.add(Set.copyOf(keys));
+            return names(keys);
+        }, 2, NEVER_MICROS, 1)) {
+            CompletableFuture<String> first = loader.load(1L);
+            CompletableFuture<String> duplicate = loader.load(1L);
+            CompletableFuture<String> second = loader.load(2L); // 서로 다른 key 2개 -> 배치 실행
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("member1");
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("member1");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("member2");
+            assertThat(calls).containsExactly(Set.of(1L, 2L));
+            assertThat(loader.getStats().getRequests()).isEqualTo(3);
+            assertThat(loader.getStats().getLoadedKeys()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void failedBatchFailsEveryCaller() {
+        IllegalStateException failure = new IllegalStateException("db unavailable");
+        try (BatchLoader<Long, String> loader = new BatchLoader<>("test", keys -> {
+            throw failure;
+        }, 3, NEVER_MICROS, 1)) {
+            List<CompletableFuture<String>> futures = List.of(loader.load(1L), loader.load(1L), loader.load(2L), loader.load(3L));
+
+            for (CompletableFuture<String> future : futures) {
+                assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCause(failure);
+            }
+        }
+    }
+
+    @Test
+    void missingKeyCompletesWithNull() throws Exception {
+        try (BatchLoader<Long, String> loader = new BatchLoader<>("test", keys -> names(Set.of(1L)), 2, NEVER_MICROS, 1)) {
+            CompletableFuture<String> found = loader.load(1L);
+            CompletableFuture<String> missing = loader.load(99L);
+
+            assertThat(found.get(5, TimeUnit.SECONDS)).isEqualTo("member1");
+            assertThat(missing.get(5, TimeUnit.SECONDS)).isNull();
+        }
+    }
+
+    @Test
+    void closeDispatchesPendingBatch() throws Exception {
+        BatchLoader<Long, String> loader = new BatchLoader<>("test", BatchLoaderTest::names, 64, NEVER_MICROS, 1);
+        CompletableFuture<String> pending = loader.load(1L); // 배치가 차지 않았고 타이머도 멀었음
+
+        loader.close();
+
+        assertThat(pending.get(5, TimeUnit.SECONDS)).isEqualTo("member1");
+        assertThatThrownBy(() -> loader.load(2L).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static Map<Long, String> names(Set<Long> keys) {
+        Map<Long, String> result = new HashMap<>();
+        keys.forEach(key -> result.put(key, "member" + key));
+        return result;
+    }
+
+}
@@ -0,0 +1,95 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void coalesceConcurrentCalls() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(5_000);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+
+            // 첫 호출이 실행 중인 동안 나머지가 모두 합쳐질 때까지 대기
+            while (singleFlight.getStats().getCoalesced() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(singleFlight.getStats().getExecutions()).isEqualTo(1);
+        assertThat(singleFlight.getStats().getInFlight()).isZero();
+    }
+
+    @Test
+    void propagateErrorAndTimeout() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalArgumentException("boom");
+            }));
+            started.await();
+
+            // leader가 끝나지 않으면 timeout
+            assertThatThrownBy(() -> singleFlight.execute("key", () -> 1))
+                    .isInstanceOf(CoalescedQueryTimeoutException.class);
+
+            release.countDown();
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(singleFlight.getStats().getTimeouts()).isEqualTo(1);
+        assertThat(singleFlight.getStats().getFailures()).isEqualTo(1);
+        assertThat(singleFlight.execute("key", () -> 2)).isEqualTo(2); // 실패한 실행은 남지 않음
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
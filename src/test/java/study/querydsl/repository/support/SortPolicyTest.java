@@ -0,0 +1,49 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+class SortPolicyTest {
+
+    private final SortPolicy reject = SortPolicy.builder(member.id)
+            .allow("id", member.id)
+            .allow("username", member.username)
+            .allow("age", member.age)
+            .build();
+
+    private final SortPolicy ignore = SortPolicy.builder(member.id)
+            .allow("id", member.id)
+            .allow("username", member.username)
+            .allow("age", member.age)
+            .onViolation(SortPolicy.Violation.IGNORE)
+            .build();
+
+    @Test
+    void appendTieBreaker() {
+        assertThat(reject.toOrderSpecifiers(Sort.by(Sort.Direction.DESC, "age")))
+                .containsExactly(member.age.desc(), member.id.desc());
+        assertThat(reject.toOrderSpecifiers(Sort.unsorted())).containsExactly(member.id.asc());
+    }
+
+    @Test
+    void tieBreakerDoesNotCountAsKey() {
+        // maxKeys=1 이어도 tie-breaker(id)를 직접 지정하는 것은 허용
+        Sort sort = Sort.by(Sort.Order.asc("age"), Sort.Order.desc("id"));
+        assertThat(reject.toOrderSpecifiers(sort)).containsExactly(member.age.asc(), member.id.desc());
+        assertThat(ignore.toOrderSpecifiers(sort)).containsExactly(member.age.asc(), member.id.desc());
+    }
+
+    @Test
+    void tooManyKeys() {
+        Sort sort = Sort.by("age", "username", "id");
+        assertThatThrownBy(() -> reject.toOrderSpecifiers(sort)).isInstanceOf(UnsupportedSortException.class);
+
+        // 초과한 키는 무시하지만 tie-breaker는 항상 붙음
+        assertThat(ignore.toOrderSpecifiers(sort)).containsExactly(member.age.asc(), member.id.asc());
+    }
+
+}
@@ -0,0 +1,101 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsernameIndexTest {
+
+    @Test
+    void addLookupRemove() {
+        UsernameIndex index = new UsernameIndex(0);
+        index.add("member1", 1L);
+        index.add("member1", 1L); // 같은 회원 다시 등록
+        index.add("member2", UsernameIndex.AMBIGUOUS); // id를 모르는 경우
+
+        assertThat(index.lookup("member1")).isEqualTo(1L);
+        assertThat(index.lookup("member2")).isEqualTo(UsernameIndex.AMBIGUOUS);
+        assertThat(index.lookup("nobody")).isEqualTo(UsernameIndex.ABSENT);
+        assertThat(index.size()).isEqualTo(2);
+
+        index.remove("member1", 2L); // 다른 회원 id -> 유지
+        assertThat(index.lookup("member1")).isEqualTo(1L);
+
+        index.remove("member1", 1L);
+        assertThat(index.lookup("member1")).isEqualTo(UsernameIndex.ABSENT);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void hashCollisionIsAmbiguous() {
+        // 모든 username이 같은 64bit 해시
+        UsernameIndex index = new UsernameIndex(0, username -> 42L);
+        index.add("a", 1L);
+        assertThat(index.lookup("a")).isEqualTo(1L);
+        assertThat(index.lookup("b")).isEqualTo(1L); // 해시만 보므로 구분 불가 -> 호출하는 쪽에서 username 확인
+
+        index.add("b", 2L);
+        assertThat(index.lookup("a")).isEqualTo(UsernameIndex.AMBIGUOUS);
+        assertThat(index.lookup("b")).isEqualTo(UsernameIndex.AMBIGUOUS);
+        assertThat(index.size()).isEqualTo(1);
+
+        // AMBIGUOUS는 다른 회원이 남아 있을 수 있으므로 제거하지 않음
+        index.remove("a", 1L);
+        assertThat(index.lookup("b")).isEqualTo(UsernameIndex.AMBIGUOUS);
+    }
+
+    @Test
+    void removeShiftsBackAcrossWrapAround() {
+        // 테이블 크기 16 -> 해시 하위 4bit가 시작 슬롯
+        // a, b, c는 마지막 슬롯(15)에서 시작 -> 15, 0, 1 / d는 0에서 시작 -> 2
+        Map<String, Long> hashes = Map.of("a", 15L, "b", 31L, "c", 47L, "d", 16L);
+        UsernameIndex index = new UsernameIndex(0, hashes::get);
+        index.add("a", 1L);
+        index.add("b", 2L);
+        index.add("c", 3L);
+        index.add("d", 4L);
+
+        // 15 삭제 -> b, c가 배열 끝을 넘어 앞으로, d도 한 칸 당겨져야 탐색이 끊기지 않음
+        index.remove("a", 1L);
+        assertThat(index.lookup("a")).isEqualTo(UsernameIndex.ABSENT);
+        assertThat(index.lookup("b")).isEqualTo(2L);
+        assertThat(index.lookup("c")).isEqualTo(3L);
+        assertThat(index.lookup("d")).isEqualTo(4L);
+
+        // 0 삭제 -> 시작 슬롯(15)이 빈 칸보다 뒤쪽(배열 끝)인 c도 당겨짐
+        index.remove("b", 2L);
+        assertThat(index.lookup("b")).isEqualTo(UsernameIndex.ABSENT);
+        assertThat(index.lookup("c")).isEqualTo(3L);
+        assertThat(index.lookup("d")).isEqualTo(4L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rehashOnGrowAndAfterRemovals() {
+        UsernameIndex index = new UsernameIndex(0);
+        int initialCapacity = index.getStats().getTableCapacity();
+        for (int i = 0; i < 100; i++) {
+            index.add("user" + i, i + 1);
+        }
+
+        // 절반 이상 차면 테이블을 키움
+        int grownCapacity = index.getStats().getTableCapacity();
+        assertThat(grownCapacity).isGreaterThan(initialCapacity).isGreaterThanOrEqualTo(200);
+        for (int i = 0; i < 100; i++) {
+            assertThat(index.lookup("user" + i)).isEqualTo(i + 1);
+        }
+
+        // 삭제가 쌓이면 남은 키로 다시 구성 (테이블, Bloom filter 축소)
+        for (int i = 10; i < 100; i++) {
+            index.remove("user" + i, i + 1);
+        }
+        assertThat(index.size()).isEqualTo(10);
+        assertThat(index.getStats().getTableCapacity()).isLessThan(grownCapacity);
+        for (int i = 0; i < 100; i++) {
+            assertThat(index.lookup("user" + i)).isEqualTo(i < 10 ? i + 1 : UsernameIndex.ABSENT);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package study.querydsl.service;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.event.MemberChangedEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+
+/**
+ * 이벤트는 커밋 이후(또는 트랜잭션 없이) 처리되므로 @Transactional 없음
+ */
+@SpringBootTest
+class MemberDataVersionTest {
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @SpyBean
+    MemberDataVersion dataVersion;
+
+    @SpyBean
+    MemberSearchResultCache resultCache;
+
+    @Test
+    void versionDiffersPerInstance() {
+        // 카운터가 같아도 (재시작, 다른 인스턴스) 버전은 다름
+        MemberSearchCond cond = new MemberSearchCond();
+        String first = new MemberDataVersion(queryFactory).version(cond);
+        String second = new MemberDataVersion(queryFactory).version(cond);
+
+        assertThat(first).endsWith(".0.0");
+        assertThat(second).endsWith(".0.0");
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void invalidateBeforeVersionBump() {
+        MemberChangedEvent afterCommit = MemberChangedEvent.global();
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(afterCommit));
+
+        MemberChangedEvent withoutTransaction = MemberChangedEvent.global();
+        eventPublisher.publishEvent(withoutTransaction);
+
+        InOrder inOrder = inOrder(resultCache, dataVersion);
+        inOrder.verify(resultCache).onMemberChanged(afterCommit);
+        inOrder.verify(dataVersion).onMemberChanged(afterCommit);
+        inOrder.verify(resultCache).onMemberChanged(withoutTransaction);
+        inOrder.verify(dataVersion).onMemberChanged(withoutTransaction);
+    }
+
+}
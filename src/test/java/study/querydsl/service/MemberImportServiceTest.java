@@ -0,0 +1,123 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.dto.MemberImportResult;
+import study.querydsl.event.MemberChangedEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 청크마다 워커 스레드에서 커밋하므로 @Transactional 없이 직접 정리
+ */
+@SpringBootTest(properties = {"member.import.chunk-size=2", "member.import.workers=1"})
+class MemberImportServiceTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    MemberImportService memberImportService;
+
+    @Autowired
+    MemberExportService memberExportService;
+
+    @BeforeEach
+    void beforeEach() {
+        jdbcTemplate.update("insert into team (team_id, name) values (next value for hibernate_sequence, 'teamA')");
+        jdbcTemplate.update("insert into team (team_id, name) values (next value for hibernate_sequence, 'team \"B\", 2')");
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        eventPublisher.publishEvent(MemberChangedEvent.global());
+    }
+
+    @Test
+    void rowValidationErrors() {
+        MemberImportResult result = memberImportService.importCsv(csv("username,age,teamName\n"
+                + "member1,10,teamA\n"            // 2
+                + "member2,20\n"                  // 3 컬럼 수
+                + " ,30,teamA\n"                  // 4 username 없음
+                + "member4,abc,teamA\n"           // 5 age 숫자 아님
+                + "member5,-1,teamA\n"            // 6 age 음수
+                + "member6,60,teamX\n"            // 7 없는 팀
+                + "\"member7,70,teamA\n"          // 8 따옴표 안 닫힘 (파일 끝까지 한 레코드)
+        ));
+
+        assertThat(result.getInsertedRows()).isEqualTo(1);
+        assertThat(result.getFailedRows()).isEqualTo(6);
+        assertThat(result.getTotalRows()).isEqualTo(7);
+        assertThat(result.getErrors()).extracting("line").containsExactly(3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(result.getErrors().get(5).getMessage()).contains("따옴표");
+        assertThat(usernames()).containsExactly("member1");
+    }
+
+    @Test
+    void chunkFailure() {
+        String tooLong = "x".repeat(300); // varchar(255) 초과 -> 해당 청크 insert 실패
+
+        MemberImportResult result = memberImportService.importCsv(csv("member1,10,teamA\n"
+                + "member2,20,teamA\n"
+                + tooLong + ",30,teamA\n"
+                + "member4,40,\n"
+                + "member5,50,teamA\n"));
+
+        // 청크 크기 2: [member1, member2] [tooLong, member4] [member5]
+        assertThat(result.getInsertedRows()).isEqualTo(3);
+        assertThat(result.getFailedRows()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting("chunk", "line").containsExactly(tuple(1, 0L));
+        assertThat(usernames()).containsExactly("member1", "member2", "member5");
+    }
+
+    @Test
+    void quotedValuesRoundTrip() {
+        MemberImportResult result = memberImportService.importCsv(csv("username,age,teamName\n"
+                + "\"kim, jr\",10,teamA\n"
+                + "\"say \"\"hi\"\"\",20,\"team \"\"B\"\", 2\"\n"
+                + "\"two\nlines\",30,\n"
+                + "plain,40,teamA\n"));
+
+        assertThat(result.getFailedRows()).isZero();
+        assertThat(result.getInsertedRows()).isEqualTo(4);
+        List<String> imported = usernames();
+        assertThat(imported).containsExactly("kim, jr", "say \"hi\"", "two\nlines", "plain");
+        assertThat(jdbcTemplate.queryForObject("select t.name from member m join team t on t.team_id = m.team_id"
+                + " where m.username = 'say \"hi\"'", String.class)).isEqualTo("team \"B\", 2");
+
+        // export 결과를 그대로 다시 등록하면 같은 데이터
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        memberExportService.exportCsv(exported, true);
+        jdbcTemplate.update("delete from member");
+
+        MemberImportResult reimported = memberImportService.importCsv(new ByteArrayInputStream(exported.toByteArray()));
+        assertThat(reimported.getFailedRows()).isZero();
+        assertThat(usernames()).isEqualTo(imported);
+    }
+
+    private List<String> usernames() {
+        return jdbcTemplate.queryForList("select username from member order by member_id", String.class);
+    }
+
+    private InputStream csv(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
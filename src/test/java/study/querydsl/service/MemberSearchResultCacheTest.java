@@ -0,0 +1,98 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.MemberChangedEvent;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결과 캐시는 트랜잭션 밖에서만 사용되므로 @Transactional 없이 직접 정리
+ */
+@SpringBootTest
+class MemberSearchResultCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberSearchService memberSearchService;
+
+    @Autowired
+    MemberSearchResultCache resultCache;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    Long member1Id;
+    Long member3Id;
+
+    @BeforeEach
+    void beforeEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            Member member1 = new Member("member1", 10, teamA);
+            Member member3 = new Member("member3", 30, teamB);
+            em.persist(member1);
+            em.persist(member3);
+            member1Id = member1.getId();
+            member3Id = member3.getId();
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+        eventPublisher.publishEvent(MemberChangedEvent.global()); // JPQL 벌크 삭제는 이벤트가 없으므로 직접 무효화
+    }
+
+    @Test
+    void invalidateOnlyAffectedEntries() {
+        MemberSearchCond teamA = new MemberSearchCond();
+        teamA.setTeamName("teamA");
+        MemberSearchCond young = new MemberSearchCond();
+        young.setAgeLoe(20);
+
+        memberSearchService.searchByWhere(teamA);
+        memberSearchService.searchByWhere(young);
+        long hitsBefore = resultCache.getStats().getHits();
+
+        assertThat(memberSearchService.searchByWhere(teamA)).extracting("username").containsExactly("member1");
+        assertThat(memberSearchService.searchByWhere(young)).extracting("username").containsExactly("member1");
+        assertThat(resultCache.getStats().getHits()).isEqualTo(hitsBefore + 2);
+
+        // teamB, 30 -> 35살 변경: teamA 조건, 20살 이하 조건 항목은 그대로
+        transactionTemplate.executeWithoutResult(status -> em.find(Member.class, member3Id).setAge(35));
+        memberSearchService.searchByWhere(teamA);
+        memberSearchService.searchByWhere(young);
+        assertThat(resultCache.getStats().getHits()).isEqualTo(hitsBefore + 4);
+
+        // teamA 회원 나이 변경: 두 항목 모두 무효화
+        transactionTemplate.executeWithoutResult(status -> em.find(Member.class, member1Id).setAge(25));
+        assertThat(memberSearchService.searchByWhere(teamA)).extracting("age").containsExactly(25);
+        assertThat(memberSearchService.searchByWhere(young)).isEmpty();
+        assertThat(resultCache.getStats().getHits()).isEqualTo(hitsBefore + 4);
+        assertThat(resultCache.getStats().getHitRatio()).isGreaterThan(0);
+    }
+
+}